@@ -2,10 +2,12 @@ package com.dw.article_world;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 @SpringBootApplication
 @EnableTransactionManagement
+@EnableScheduling
 public class ArticleWorldApplication {
     public static void main(String[] args) {
         SpringApplication.run(ArticleWorldApplication.class, args);
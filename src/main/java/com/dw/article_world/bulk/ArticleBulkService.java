@@ -0,0 +1,160 @@
+package com.dw.article_world.bulk;
+
+import com.dw.article_world.exception.InvalidArticleException;
+import com.dw.article_world.model.ArchivedArticle;
+import com.dw.article_world.model.Article;
+import com.dw.article_world.repo.ArticleBulkRepository;
+import com.dw.article_world.service.ArticlesBulkChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiFunction;
+
+/**
+ * Criteria-based bulk update and delete of articles, applied to both ARTICLE and ARTICLE_ARCHIVE.
+ * <p>
+ * The matching id range of each table is split into {@code article.bulk.parallelism} slices that run on the bulk executor.
+ * Each slice walks its ids in keyset order and applies one set-based statement per chunk of
+ * {@code article.bulk.chunk-size} ids, each chunk in its own short transaction, so locks are held and WAL
+ * is written a chunk at a time rather than for the whole operation.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "article.bulk.enabled", havingValue = "true")
+public class ArticleBulkService {
+
+    private static final int MAX_RETAINED_JOBS = 100;
+    private static final List<Class<?>> TIERS = List.of(Article.class, ArchivedArticle.class);
+
+    @Autowired
+    ArticleBulkRepository articleBulkRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    @Qualifier("bulkExecutor")
+    TaskExecutor bulkExecutor;
+
+    @Value("${article.bulk.chunk-size:500}")
+    int chunkSize = 500;
+
+    @Value("${article.bulk.parallelism:4}")
+    int parallelism = 4;
+
+    private final Map<String, BulkJob> jobs = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, BulkJob> eldest) {
+            return size() > MAX_RETAINED_JOBS;
+        }
+    };
+
+    public BulkJob.Status update(BulkCriteria criteria, Integer newUserId) {
+        validate(criteria);
+        if (newUserId == null) {
+            throw new InvalidArticleException("newUserId is required");
+        }
+        return start(BulkJob.Operation.UPDATE, criteria,
+                (tier, ids) -> articleBulkRepository.updateUserId(tier, criteria, ids, newUserId, LocalDateTime.now()));
+    }
+
+    public BulkJob.Status delete(BulkCriteria criteria) {
+        validate(criteria);
+        return start(BulkJob.Operation.DELETE, criteria, (tier, ids) -> articleBulkRepository.delete(tier, criteria, ids));
+    }
+
+    public Optional<BulkJob.Status> getJob(String jobId) {
+        synchronized (jobs) {
+            return Optional.ofNullable(jobs.get(jobId)).map(BulkJob::status);
+        }
+    }
+
+    private BulkJob.Status start(BulkJob.Operation operation, BulkCriteria criteria,
+                                 BiFunction<Class<?>, List<Integer>, Integer> statement) {
+        BulkJob job = new BulkJob(operation, criteria);
+        synchronized (jobs) {
+            jobs.put(job.getId(), job);
+        }
+        List<Slice> slices = new ArrayList<>();
+        for (Class<?> tier : TIERS) {
+            articleBulkRepository.findIdRange(tier, criteria).ifPresent(range -> slices.addAll(slice(tier, range)));
+        }
+        job.start(slices.size());
+        if (slices.isEmpty()) {
+            return job.status();
+        }
+
+        log.info("Bulk {} job {} started for {} in {} slices: {}", operation, job.getId(), criteria, slices.size(), slices);
+        for (Slice slice : slices) {
+            try {
+                bulkExecutor.execute(() -> runSlice(job, criteria, slice, statement));
+            } catch (TaskRejectedException e) {
+                job.fail("Bulk executor is saturated, retry later");
+                break;
+            }
+        }
+        return job.status();
+    }
+
+    private List<Slice> slice(Class<?> tier, ArticleBulkRepository.IdRange range) {
+        long span = (long) range.max() - range.min() + 1;
+        int count = (int) Math.min(parallelism, span);
+        List<Slice> slices = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            slices.add(new Slice(tier, (int) (range.min() + span * i / count), (int) (range.min() + span * (i + 1) / count - 1)));
+        }
+        return slices;
+    }
+
+    private void runSlice(BulkJob job, BulkCriteria criteria, Slice slice, BiFunction<Class<?>, List<Integer>, Integer> statement) {
+        try {
+            int afterId = slice.from() - 1;
+            while (!job.isFailed()) {
+                List<Integer> ids = articleBulkRepository.findIds(slice.tier(), criteria, afterId, slice.to(), chunkSize);
+                if (ids.isEmpty()) {
+                    break;
+                }
+                Integer rows = transactionTemplate.execute(status -> statement.apply(slice.tier(), ids));
+                eventPublisher.publishEvent(new ArticlesBulkChangedEvent(ids));
+                job.chunkCompleted(rows == null ? 0 : rows);
+                afterId = ids.get(ids.size() - 1);
+            }
+            job.sliceCompleted();
+        } catch (RuntimeException e) {
+            log.error("Bulk job {} failed on {}", job.getId(), slice, e);
+            job.fail(e.getMessage());
+        }
+    }
+
+    private static void validate(BulkCriteria criteria) {
+        if (criteria == null || criteria.isEmpty()) {
+            throw new InvalidArticleException("At least one of userId or postedBefore is required");
+        }
+    }
+
+    private record Slice(Class<?> tier, int from, int to) {
+
+        @Override
+        public String toString() {
+            return tier.getSimpleName() + " ids " + from + ".." + to;
+        }
+    }
+
+}
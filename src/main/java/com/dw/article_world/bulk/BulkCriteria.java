@@ -0,0 +1,13 @@
+package com.dw.article_world.bulk;
+
+import java.time.LocalDateTime;
+
+/**
+ * Selects the articles a bulk operation applies to. Set fields are combined with AND.
+ */
+public record BulkCriteria(Integer userId, LocalDateTime postedBefore) {
+
+    public boolean isEmpty() {
+        return userId == null && postedBefore == null;
+    }
+}
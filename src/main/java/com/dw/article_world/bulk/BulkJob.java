@@ -0,0 +1,88 @@
+package com.dw.article_world.bulk;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one bulk operation. Workers update the counters concurrently; {@link #status()} takes a
+ * consistent-enough view for the job-status resource.
+ */
+public class BulkJob {
+
+    public enum Operation {
+        UPDATE, DELETE
+    }
+
+    public enum State {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    public record Status(String jobId, Operation operation, BulkCriteria criteria, State state, int slices,
+                         int chunksCompleted, long rowsAffected, String error, Instant startedAt, Instant finishedAt) {
+    }
+
+    private final String id = UUID.randomUUID().toString();
+    private final Operation operation;
+    private final BulkCriteria criteria;
+    private final Instant startedAt = Instant.now();
+    private final AtomicInteger chunksCompleted = new AtomicInteger();
+    private final AtomicLong rowsAffected = new AtomicLong();
+    private final AtomicInteger slicesRemaining = new AtomicInteger();
+    private volatile int slices;
+    private volatile State state = State.RUNNING;
+    private volatile String error;
+    private volatile Instant finishedAt;
+
+    BulkJob(Operation operation, BulkCriteria criteria) {
+        this.operation = operation;
+        this.criteria = criteria;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Status status() {
+        return new Status(id, operation, criteria, state, slices, chunksCompleted.get(), rowsAffected.get(),
+                error, startedAt, finishedAt);
+    }
+
+    boolean isFailed() {
+        return state == State.FAILED;
+    }
+
+    void start(int slices) {
+        this.slices = slices;
+        slicesRemaining.set(slices);
+        if (slices == 0) {
+            finish(State.COMPLETED, null);
+        }
+    }
+
+    void chunkCompleted(int rows) {
+        rowsAffected.addAndGet(rows);
+        chunksCompleted.incrementAndGet();
+    }
+
+    void sliceCompleted() {
+        if (slicesRemaining.decrementAndGet() == 0) {
+            finish(State.COMPLETED, null);
+        }
+    }
+
+    void fail(String message) {
+        finish(State.FAILED, message);
+    }
+
+    private synchronized void finish(State finalState, String message) {
+        if (state != State.RUNNING) {
+            return;
+        }
+        error = message;
+        finishedAt = Instant.now();
+        state = finalState;
+    }
+
+}
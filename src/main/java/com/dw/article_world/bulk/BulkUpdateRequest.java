@@ -0,0 +1,4 @@
+package com.dw.article_world.bulk;
+
+public record BulkUpdateRequest(BulkCriteria criteria, Integer newUserId) {
+}
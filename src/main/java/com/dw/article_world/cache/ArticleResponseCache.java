@@ -0,0 +1,225 @@
+package com.dw.article_world.cache;
+
+import com.dw.article_world.model.Article;
+import com.dw.article_world.service.ArticleChangedEvent;
+import com.dw.article_world.service.ArticlesBulkChangedEvent;
+import com.dw.article_world.service.ArticlesInvalidatedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Encoded article responses per (article id, format), so that hot articles are written straight
+ * from a byte array instead of going through Jackson on every read.
+ * <p>
+ * Entries are evicted once their total size exceeds {@code article.response-cache.max-size}, in
+ * approximately least recently used order: a CLOCK hand walks them in insertion order and gives entries
+ * that were read since its last pass a second chance. A hit only sets that flag, so reads take no lock.
+ * Every write to an article invalidates its entries; a stamp taken before loading keeps a reader that
+ * raced with such a write from caching the old bytes.
+ */
+@Component
+public class ArticleResponseCache {
+
+    private static final int STAMP_STRIPES = 1024;
+    private static final int ENTRY_OVERHEAD_BYTES = 64;
+    private static final int CLOCK_SLACK = 1024;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Value("${article.response-cache.max-size:16MB}")
+    DataSize maxSize = DataSize.ofMegabytes(16);
+
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>(256);
+    // entries in insertion order for the clock hand; replaced and invalidated ones are skipped when reached
+    private final Queue<Entry> clock = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger clockLength = new AtomicInteger();
+    private final Object evictionLock = new Object();
+    private final Set<MediaType> formats = new CopyOnWriteArraySet<>();
+    private final AtomicLongArray stamps = new AtomicLongArray(STAMP_STRIPES);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final AtomicLong sizeBytes = new AtomicLong();
+
+    public record CachedResponse(byte[] body, String etag) {
+    }
+
+    private record Key(Integer articleId, MediaType format) {
+    }
+
+    private static final class Entry {
+        final Key key;
+        final CachedResponse response;
+        final long weight;
+        volatile boolean referenced;
+
+        Entry(Key key, CachedResponse response) {
+            this.key = key;
+            this.response = response;
+            this.weight = weight(response);
+        }
+    }
+
+    public CachedResponse get(Integer articleId, MediaType format, Supplier<Article> loader) {
+        Key key = new Key(articleId, format);
+        Entry cached = entries.get(key);
+        if (cached != null) {
+            if (!cached.referenced) {
+                cached.referenced = true;
+            }
+            hits.increment();
+            return cached.response;
+        }
+        misses.increment();
+        long stamp = stamps.get(stripe(articleId));
+        Article article = loader.get();
+        CachedResponse response = new CachedResponse(encode(article, format), etag(article));
+        put(key, stamp, response);
+        return response;
+    }
+
+    public void invalidate(Integer articleId) {
+        stamps.incrementAndGet(stripe(articleId));
+        for (MediaType format : formats) {
+            Entry removed = entries.remove(new Key(articleId, format));
+            if (removed != null) {
+                sizeBytes.addAndGet(-removed.weight);
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        for (int stripe = 0; stripe < STAMP_STRIPES; stripe++) {
+            stamps.incrementAndGet(stripe);
+        }
+        entries.values().forEach(this::unlink);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        invalidate(event.articleId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticlesBulkChanged(ArticlesBulkChangedEvent event) {
+        event.articleIds().forEach(this::invalidate);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticlesInvalidated(ArticlesInvalidatedEvent event) {
+        invalidateAll();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long sizeBytes() {
+        return sizeBytes.get();
+    }
+
+    private void put(Key key, long stamp, CachedResponse response) {
+        long maxBytes = maxSize.toBytes();
+        Entry entry = new Entry(key, response);
+        if (entry.weight > maxBytes / 8) {
+            return;
+        }
+        formats.add(key.format());
+        Entry previous = entries.put(key, entry);
+        sizeBytes.addAndGet(previous == null ? entry.weight : entry.weight - previous.weight);
+        clock.add(entry);
+        clockLength.incrementAndGet();
+        // an invalidation since the stamp was taken means the bytes may already be stale; it bumps the stamp
+        // before removing, so either its remove sees this entry or this check sees the new stamp
+        if (stamps.get(stripe(key.articleId())) != stamp) {
+            unlink(entry);
+            return;
+        }
+        if (sizeBytes.get() > maxBytes || clockLength.get() > 2 * entries.size() + CLOCK_SLACK) {
+            evict(maxBytes);
+        }
+    }
+
+    private void evict(long maxBytes) {
+        synchronized (evictionLock) {
+            while (sizeBytes.get() > maxBytes) {
+                Entry candidate = clock.poll();
+                if (candidate == null) {
+                    break;
+                }
+                clockLength.decrementAndGet();
+                if (entries.get(candidate.key) != candidate) {
+                    continue;
+                }
+                if (candidate.referenced) {
+                    candidate.referenced = false;
+                    clock.add(candidate);
+                    clockLength.incrementAndGet();
+                } else {
+                    unlink(candidate);
+                }
+            }
+            // invalidated entries only leave the clock when the hand reaches them, so sweep them out
+            // before they outnumber the live ones
+            if (clockLength.get() > 2 * entries.size() + CLOCK_SLACK) {
+                clock.removeIf(candidate -> entries.get(candidate.key) != candidate);
+                clockLength.set(clock.size());
+            }
+        }
+    }
+
+    private void unlink(Entry entry) {
+        if (entries.remove(entry.key, entry)) {
+            sizeBytes.addAndGet(-entry.weight);
+        }
+    }
+
+    private byte[] encode(Article article, MediaType format) {
+        if (!MediaType.APPLICATION_JSON.isCompatibleWith(format)) {
+            throw new IllegalArgumentException("Unsupported article response format " + format);
+        }
+        try {
+            return objectMapper.writeValueAsBytes(article);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode article " + article.getId(), e);
+        }
+    }
+
+    private static String etag(Article article) {
+        LocalDateTime version = article.getUpdatedDate() != null ? article.getUpdatedDate() : article.getPostedDate();
+        long versionMillis = version == null ? 0 : version.toInstant(ZoneOffset.UTC).toEpochMilli();
+        return "\"" + article.getId() + "-" + versionMillis + "\"";
+    }
+
+    private static int stripe(Integer articleId) {
+        return Math.floorMod(articleId.hashCode(), STAMP_STRIPES);
+    }
+
+    private static long weight(CachedResponse response) {
+        return response.body().length + response.etag().length() + ENTRY_OVERHEAD_BYTES;
+    }
+
+}
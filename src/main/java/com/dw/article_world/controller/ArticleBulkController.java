@@ -0,0 +1,44 @@
+package com.dw.article_world.controller;
+
+import com.dw.article_world.bulk.ArticleBulkService;
+import com.dw.article_world.bulk.BulkCriteria;
+import com.dw.article_world.bulk.BulkJob;
+import com.dw.article_world.bulk.BulkUpdateRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/admin/articles")
+@ConditionalOnProperty(name = "article.bulk.enabled", havingValue = "true")
+public class ArticleBulkController {
+
+    @Autowired
+    ArticleBulkService articleBulkService;
+
+    @PostMapping("/bulk-update")
+    ResponseEntity<BulkJob.Status> bulkUpdate(@RequestBody BulkUpdateRequest request) {
+        return accepted(articleBulkService.update(request.criteria(), request.newUserId()));
+    }
+
+    @PostMapping("/bulk-delete")
+    ResponseEntity<BulkJob.Status> bulkDelete(@RequestBody BulkCriteria criteria) {
+        return accepted(articleBulkService.delete(criteria));
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    ResponseEntity<?> getJob(@PathVariable String jobId) {
+        return articleBulkService.getJob(jobId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body("No such job exists"));
+    }
+
+    private static ResponseEntity<BulkJob.Status> accepted(BulkJob.Status status) {
+        return ResponseEntity.accepted().location(URI.create("/api/admin/articles/jobs/" + status.jobId())).body(status);
+    }
+
+}
@@ -1,12 +1,22 @@
 package com.dw.article_world.controller;
 
+import com.dw.article_world.cache.ArticleResponseCache;
+import com.dw.article_world.exception.InvalidArticleException;
+import com.dw.article_world.idempotency.IdempotencyService;
 import com.dw.article_world.model.Article;
 import com.dw.article_world.service.ArticleService;
+import com.dw.article_world.service.LatestArticlesFeed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/articles")
 @CrossOrigin(origins = "http://localhost:3000")
@@ -15,20 +25,52 @@ public class ArticleController {
     @Autowired
     ArticleService articleService;
 
+    @Autowired
+    IdempotencyService idempotencyService;
+
+    @Autowired
+    LatestArticlesFeed latestArticlesFeed;
+
+    @Autowired
+    ArticleResponseCache articleResponseCache;
+
     @PostMapping
-    ResponseEntity<?> addArticle(@RequestBody Article article) {
-        Article _article = articleService.addArticle(article);
-        if (_article != null) {
-            return ResponseEntity.status(HttpStatus.CREATED).body(_article);
-        } else {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Oops!, An error occurred.");
-        }
+    ResponseEntity<?> addArticle(@RequestBody Article article,
+                                 @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, article, () -> {
+            Article _article = articleService.addArticle(article);
+            if (_article != null) {
+                return ResponseEntity.status(HttpStatus.CREATED).body(_article);
+            } else {
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Oops!, An error occurred.");
+            }
+        });
+    }
+
+    @PostMapping("/batch")
+    ResponseEntity<?> addArticles(@RequestBody List<Article> articles,
+                                  @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, articles, () -> {
+            var _articles = articleService.addArticles(articles);
+            if (_articles != null) {
+                return ResponseEntity.status(HttpStatus.CREATED).body(_articles);
+            } else {
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Oops!, An error occurred.");
+            }
+        });
     }
 
     @GetMapping
-    ResponseEntity<?> getArticles() {
-        System.out.println("getArticles" +System.currentTimeMillis());
-        var articles = articleService.getArticles();
+    ResponseEntity<?> getArticles(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        if (from == null && to != null) {
+            throw new InvalidArticleException("'from' is required when 'to' is given");
+        }
+        var articles = from == null
+                ? articleService.getArticles(includeArchived)
+                : articleService.getArticles(from, to, includeArchived);
         if (articles != null) {
             return ResponseEntity.status(HttpStatus.OK).body(articles);
         } else {
@@ -36,9 +78,25 @@ public class ArticleController {
         }
     }
 
+    @GetMapping("/latest")
+    List<Article> getLatestArticles(@RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > latestArticlesFeed.capacity()) {
+            throw new InvalidArticleException("limit must be between 1 and " + latestArticlesFeed.capacity());
+        }
+        return latestArticlesFeed.latest(limit);
+    }
+
     @GetMapping("/{articleId}")
-    Article getArticle(@PathVariable Integer articleId) {
-        return articleService.getArticle(articleId);
+    ResponseEntity<byte[]> getArticle(@PathVariable Integer articleId,
+                                      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        var response = articleResponseCache.get(articleId, MediaType.APPLICATION_JSON, () -> articleService.getArticle(articleId));
+        if (response.etag().equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(response.etag()).build();
+        }
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(response.etag())
+                .body(response.body());
     }
 
     @PutMapping("/{articleId}")
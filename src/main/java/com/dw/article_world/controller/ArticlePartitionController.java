@@ -0,0 +1,30 @@
+package com.dw.article_world.controller;
+
+import com.dw.article_world.service.ArticlePartitionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/partitions")
+@ConditionalOnProperty(name = "article.partitioning.enabled", havingValue = "true")
+public class ArticlePartitionController {
+
+    @Autowired
+    ArticlePartitionService articlePartitionService;
+
+    @GetMapping
+    List<String> getPartitions() {
+        return articlePartitionService.listPartitions();
+    }
+
+    @PostMapping("/detach")
+    List<String> detachPartitions(@RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth before) {
+        return articlePartitionService.detachPartitionsBefore(before);
+    }
+
+}
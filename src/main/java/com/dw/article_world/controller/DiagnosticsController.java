@@ -0,0 +1,28 @@
+package com.dw.article_world.controller;
+
+import com.dw.article_world.diagnostics.DatabaseDiagnostics;
+import com.dw.article_world.diagnostics.DatabaseDiagnosticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/diagnostics")
+public class DiagnosticsController {
+
+    @Autowired
+    DatabaseDiagnosticsService databaseDiagnosticsService;
+
+    @GetMapping("/db")
+    DatabaseDiagnostics getDatabaseDiagnostics() {
+        return databaseDiagnosticsService.getDiagnostics();
+    }
+
+    @PostMapping("/db/reset")
+    ResponseEntity<Void> resetDatabaseDiagnostics() {
+        databaseDiagnosticsService.reset();
+        return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.dw.article_world.diagnostics;
+
+import java.util.List;
+
+public record DatabaseDiagnostics(
+        Pool pool,
+        PoolWaitTimeRecorder.Percentiles connectionWaitMillis,
+        long connectionTimeouts,
+        boolean statisticsEnabled,
+        long queryPlanCacheHits,
+        long queryPlanCacheMisses,
+        List<SlowQuery> slowestStatements,
+        List<SlowQuery> slowestQueries) {
+
+    public record Pool(String name, int active, int idle, int total, int maximum, int threadsAwaiting) {
+    }
+
+    public record SlowQuery(String query, long executions, long averageMillis, long maxMillis) {
+    }
+}
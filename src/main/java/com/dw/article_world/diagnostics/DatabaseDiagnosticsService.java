@@ -0,0 +1,88 @@
+package com.dw.article_world.diagnostics;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class DatabaseDiagnosticsService {
+
+    private static final int SLOWEST_LIMIT = 10;
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    PoolWaitTimeRecorder poolWaitTimeRecorder;
+
+    public DatabaseDiagnostics getDiagnostics() {
+        Statistics statistics = statistics();
+        return new DatabaseDiagnostics(
+                pool(),
+                poolWaitTimeRecorder.waitTimeMillis(),
+                poolWaitTimeRecorder.timeouts(),
+                statistics.isStatisticsEnabled(),
+                statistics.getQueryPlanCacheHitCount(),
+                statistics.getQueryPlanCacheMissCount(),
+                slowestStatements(statistics),
+                slowestQueries(statistics));
+    }
+
+    public void reset() {
+        poolWaitTimeRecorder.reset();
+        statistics().clear();
+    }
+
+    private DatabaseDiagnostics.Pool pool() {
+        if (!(dataSource instanceof HikariDataSource hikariDataSource)) {
+            return null;
+        }
+        HikariPoolMXBean pool = hikariDataSource.getHikariPoolMXBean();
+        if (pool == null) {
+            return new DatabaseDiagnostics.Pool(hikariDataSource.getPoolName(), 0, 0, 0, hikariDataSource.getMaximumPoolSize(), 0);
+        }
+        return new DatabaseDiagnostics.Pool(hikariDataSource.getPoolName(), pool.getActiveConnections(), pool.getIdleConnections(),
+                pool.getTotalConnections(), hikariDataSource.getMaximumPoolSize(), pool.getThreadsAwaitingConnection());
+    }
+
+    // SQL statements slower than hibernate.log_slow_query, with the slowest time seen for each
+    private static List<DatabaseDiagnostics.SlowQuery> slowestStatements(Statistics statistics) {
+        return statistics.getSlowQueries().entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(SLOWEST_LIMIT)
+                .map(entry -> new DatabaseDiagnostics.SlowQuery(entry.getKey(), 0, 0, entry.getValue()))
+                .toList();
+    }
+
+    // HQL/JPQL queries ranked by their slowest execution
+    private static List<DatabaseDiagnostics.SlowQuery> slowestQueries(Statistics statistics) {
+        return Arrays.stream(statistics.getQueries())
+                .map(query -> {
+                    QueryStatistics queryStatistics = statistics.getQueryStatistics(query);
+                    return new DatabaseDiagnostics.SlowQuery(query, queryStatistics.getExecutionCount(),
+                            queryStatistics.getExecutionAvgTime(), queryStatistics.getExecutionMaxTime());
+                })
+                .sorted(Comparator.comparingLong(DatabaseDiagnostics.SlowQuery::maxMillis).reversed())
+                .limit(SLOWEST_LIMIT)
+                .toList();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+}
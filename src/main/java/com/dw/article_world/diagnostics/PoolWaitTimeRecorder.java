@@ -0,0 +1,92 @@
+package com.dw.article_world.diagnostics;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records how long threads wait for a Hikari connection, over the most recent {@value #WINDOW_SIZE}
+ * acquisitions. Registered as the metrics tracker of every {@link HikariDataSource} before its pool starts.
+ */
+@Component
+public class PoolWaitTimeRecorder implements MetricsTrackerFactory, BeanPostProcessor {
+
+    static final int WINDOW_SIZE = 4096;
+
+    private final AtomicLongArray waitNanos = new AtomicLongArray(WINDOW_SIZE);
+    private final AtomicLong recorded = new AtomicLong();
+    private final LongAdder timeouts = new LongAdder();
+
+    public record Percentiles(long samples, double p50, double p95, double p99, double max) {
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource dataSource && dataSource.getMetricsTrackerFactory() == null) {
+            dataSource.setMetricsTrackerFactory(this);
+        }
+        return bean;
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                recordWait(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.increment();
+            }
+        };
+    }
+
+    void recordWait(long nanos) {
+        long slot = recorded.getAndIncrement();
+        waitNanos.set((int) (slot % WINDOW_SIZE), nanos);
+    }
+
+    public long timeouts() {
+        return timeouts.sum();
+    }
+
+    public Percentiles waitTimeMillis() {
+        int samples = (int) Math.min(recorded.get(), WINDOW_SIZE);
+        long[] window = new long[samples];
+        for (int i = 0; i < samples; i++) {
+            window[i] = waitNanos.get(i);
+        }
+        Arrays.sort(window);
+        return new Percentiles(samples, percentile(window, 0.50), percentile(window, 0.95), percentile(window, 0.99),
+                samples == 0 ? 0 : toMillis(window[samples - 1]));
+    }
+
+    public void reset() {
+        recorded.set(0);
+        timeouts.reset();
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        return toMillis(sorted[Math.max(rank, 1) - 1]);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+}
@@ -0,0 +1,12 @@
+package com.dw.article_world.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ArchivedArticleException extends RuntimeException {
+
+    public ArchivedArticleException(String message) {
+        super(message);
+    }
+}
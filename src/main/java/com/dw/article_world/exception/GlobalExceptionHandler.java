@@ -11,4 +11,14 @@ public class GlobalExceptionHandler {
     ResponseEntity<String> handleInvalidArticleIdException(InvalidArticleException invalidArticleException) {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(invalidArticleException.getMessage());
     }
+
+    @ExceptionHandler({ArchivedArticleException.class})
+    ResponseEntity<String> handleArchivedArticleException(ArchivedArticleException archivedArticleException) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(archivedArticleException.getMessage());
+    }
+
+    @ExceptionHandler({IdempotencyKeyException.class})
+    ResponseEntity<String> handleIdempotencyKeyException(IdempotencyKeyException idempotencyKeyException) {
+        return ResponseEntity.status(idempotencyKeyException.getStatus()).body(idempotencyKeyException.getMessage());
+    }
 }
@@ -0,0 +1,168 @@
+package com.dw.article_world.idempotency;
+
+import com.dw.article_world.exception.IdempotencyKeyException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Runs a create request at most once per {@code Idempotency-Key}. Retries with the same key are answered
+ * from the {@link IdempotencyStore}; concurrent duplicates wait for the first request to finish instead
+ * of racing it into the database. Within one instance they wait on an in-flight future; across instances
+ * (persistent store only) the first request claims the key in IDEMPOTENCY_KEY and the others poll it.
+ */
+@Service
+public class IdempotencyService {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final Duration CLAIM_POLL_INTERVAL = Duration.ofMillis(50);
+
+    @Autowired
+    IdempotencyStore idempotencyStore;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Value("${article.idempotency.in-flight-timeout:30s}")
+    Duration inFlightTimeout = Duration.ofSeconds(30);
+
+    private final ConcurrentMap<String, CompletableFuture<IdempotentResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public ResponseEntity<?> execute(String key, Object request, Supplier<ResponseEntity<?>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IdempotencyKeyException(HttpStatus.BAD_REQUEST, "Invalid Idempotency-Key");
+        }
+        String requestHash = hash(request);
+        while (true) {
+            Optional<IdempotentResponse> stored = idempotencyStore.find(key);
+            if (stored.isPresent()) {
+                return replay(stored.get(), requestHash);
+            }
+
+            CompletableFuture<IdempotentResponse> ours = new CompletableFuture<>();
+            CompletableFuture<IdempotentResponse> theirs = inFlight.putIfAbsent(key, ours);
+            if (theirs != null) {
+                IdempotentResponse response = await(theirs);
+                if (response != null) {
+                    return replay(response, requestHash);
+                }
+                // the first request failed without a recordable response, so this one may retry it
+                continue;
+            }
+
+            boolean claimed = false;
+            try {
+                stored = idempotencyStore.find(key);
+                if (stored.isPresent()) {
+                    ours.complete(stored.get());
+                    return replay(stored.get(), requestHash);
+                }
+                IdempotencyStore.Claim claim = awaitClaim(key, requestHash);
+                if (claim.state() == IdempotencyStore.Claim.State.COMPLETED) {
+                    ours.complete(claim.response());
+                    return replay(claim.response(), requestHash);
+                }
+                claimed = true;
+                ResponseEntity<?> response = action.get();
+                if (response.getStatusCode().is5xxServerError()) {
+                    idempotencyStore.release(key);
+                    ours.complete(null);
+                    return response;
+                }
+                ours.complete(idempotencyStore.save(key, requestHash, response.getStatusCode().value(), toJson(response.getBody())));
+                return response;
+            } catch (RuntimeException e) {
+                if (claimed) {
+                    idempotencyStore.release(key);
+                }
+                ours.complete(null);
+                throw e;
+            } finally {
+                inFlight.remove(key, ours);
+            }
+        }
+    }
+
+    private ResponseEntity<String> replay(IdempotentResponse response, String requestHash) {
+        if (!response.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Idempotency-Key was already used with a different request");
+        }
+        return ResponseEntity.status(response.status())
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(REPLAYED_HEADER, "true")
+                .body(response.body());
+    }
+
+    // another instance may hold the key; poll until it records a response, gives up its claim or the timeout passes
+    private IdempotencyStore.Claim awaitClaim(String key, String requestHash) {
+        long deadline = System.nanoTime() + inFlightTimeout.toNanos();
+        while (true) {
+            IdempotencyStore.Claim claim = idempotencyStore.claim(key, requestHash);
+            if (claim.state() != IdempotencyStore.Claim.State.IN_PROGRESS) {
+                return claim;
+            }
+            if (System.nanoTime() - deadline > 0) {
+                throw new IdempotencyKeyException(HttpStatus.CONFLICT, "A request with this Idempotency-Key is still in progress");
+            }
+            try {
+                Thread.sleep(CLAIM_POLL_INTERVAL.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IdempotencyKeyException(HttpStatus.CONFLICT, "A request with this Idempotency-Key is still in progress");
+            }
+        }
+    }
+
+    private IdempotentResponse await(CompletableFuture<IdempotentResponse> future) {
+        try {
+            return future.get(inFlightTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IdempotencyKeyException(HttpStatus.CONFLICT, "A request with this Idempotency-Key is still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyException(HttpStatus.CONFLICT, "A request with this Idempotency-Key is still in progress");
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not hash request", e);
+        }
+    }
+
+    private String toJson(Object body) {
+        if (body == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize response", e);
+        }
+    }
+
+}
@@ -0,0 +1,165 @@
+package com.dw.article_world.idempotency;
+
+import com.dw.article_world.model.IdempotencyRecord;
+import com.dw.article_world.repo.IdempotencyRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Bounded LRU map of recorded responses with TTL expiry. When
+ * {@code article.idempotency.persistent=true} records are also kept in IDEMPOTENCY_KEY so they survive
+ * restarts and are shared between instances: a request first {@link #claim claims} its key by inserting a
+ * pending row, the primary key lets exactly one instance win, and the winner later fills in the response.
+ */
+@Component
+@Slf4j
+public class IdempotencyStore {
+
+    @Autowired
+    IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Value("${article.idempotency.max-entries:10000}")
+    int maxEntries = 10_000;
+
+    @Value("${article.idempotency.ttl:24h}")
+    Duration ttl = Duration.ofHours(24);
+
+    @Value("${article.idempotency.persistent:false}")
+    boolean persistent;
+
+    @Value("${article.idempotency.in-flight-timeout:30s}")
+    Duration claimTimeout = Duration.ofSeconds(30);
+
+    Clock clock = Clock.systemUTC();
+
+    public record Claim(State state, IdempotentResponse response) {
+
+        public enum State {
+            ACQUIRED, COMPLETED, IN_PROGRESS
+        }
+
+        static final Claim ACQUIRED = new Claim(State.ACQUIRED, null);
+        static final Claim IN_PROGRESS = new Claim(State.IN_PROGRESS, null);
+    }
+
+    private final Map<String, IdempotentResponse> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, IdempotentResponse> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    public Optional<IdempotentResponse> find(String key) {
+        Instant now = clock.instant();
+        synchronized (entries) {
+            IdempotentResponse response = entries.get(key);
+            if (response != null) {
+                if (!response.isExpired(now)) {
+                    return Optional.of(response);
+                }
+                entries.remove(key);
+            }
+        }
+        if (!persistent) {
+            return Optional.empty();
+        }
+        return idempotencyRecordRepository.findById(key)
+                .filter(record -> !record.isPending() && record.getExpiresAt().isAfter(now))
+                .map(record -> cache(key, record));
+    }
+
+    /**
+     * Claims {@code key} for a request that is about to run. Without persistence the caller's in-process
+     * guard is enough and the claim is always acquired.
+     */
+    public Claim claim(String key, String requestHash) {
+        if (!persistent) {
+            return Claim.ACQUIRED;
+        }
+        Instant now = clock.instant();
+        Instant leaseUntil = now.plus(claimTimeout);
+        Optional<IdempotencyRecord> existing = idempotencyRecordRepository.findById(key);
+        if (existing.isPresent()) {
+            IdempotencyRecord record = existing.get();
+            if (record.getExpiresAt().isAfter(now)) {
+                return record.isPending() ? Claim.IN_PROGRESS : new Claim(Claim.State.COMPLETED, cache(key, record));
+            }
+            // the response expired or its claim was abandoned; the conditional update lets only one instance take it
+            return idempotencyRecordRepository.reclaim(key, requestHash, leaseUntil, now) == 1 ? Claim.ACQUIRED : Claim.IN_PROGRESS;
+        }
+        try {
+            idempotencyRecordRepository.saveAndFlush(IdempotencyRecord.pending(key, requestHash, leaseUntil));
+            return Claim.ACQUIRED;
+        } catch (DataIntegrityViolationException e) {
+            // another instance inserted the key first
+            return Claim.IN_PROGRESS;
+        }
+    }
+
+    /**
+     * Gives up a claim without recording a response, so a retry may run the request again.
+     */
+    public void release(String key) {
+        if (persistent) {
+            idempotencyRecordRepository.release(key);
+        }
+    }
+
+    public IdempotentResponse save(String key, String requestHash, int status, String body) {
+        IdempotentResponse response = new IdempotentResponse(requestHash, status, body, clock.instant().plus(ttl));
+        synchronized (entries) {
+            entries.put(key, response);
+        }
+        if (persistent) {
+            try {
+                if (idempotencyRecordRepository.complete(key, requestHash, status, body, response.expiresAt()) == 0) {
+                    log.warn("Claim on idempotency key {} was lost before its response could be recorded", key);
+                }
+            } catch (Exception e) {
+                // the request itself succeeded, so only the replay for other instances is lost
+                log.warn("Could not persist idempotency key {}: {}", key, e.getMessage());
+            }
+        }
+        return response;
+    }
+
+    private IdempotentResponse cache(String key, IdempotencyRecord record) {
+        IdempotentResponse response = new IdempotentResponse(record.getRequestHash(), record.getStatus(), record.getBody(), record.getExpiresAt());
+        synchronized (entries) {
+            entries.put(key, response);
+        }
+        return response;
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${article.idempotency.purge-interval:PT10M}")
+    public void purgeExpired() {
+        Instant now = clock.instant();
+        synchronized (entries) {
+            entries.values().removeIf(response -> response.isExpired(now));
+        }
+        if (persistent) {
+            int deleted = idempotencyRecordRepository.deleteExpired(now);
+            if (deleted > 0) {
+                log.info("Purged {} expired idempotency keys", deleted);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,14 @@
+package com.dw.article_world.idempotency;
+
+import java.time.Instant;
+
+/**
+ * The response recorded for an idempotency key, kept as already serialized JSON so replays
+ * never go back to the ARTICLE table.
+ */
+public record IdempotentResponse(String requestHash, int status, String body, Instant expiresAt) {
+
+    boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
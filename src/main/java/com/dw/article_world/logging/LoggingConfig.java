@@ -0,0 +1,19 @@
+package com.dw.article_world.logging;
+
+import org.hibernate.cfg.JdbcSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class LoggingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "article.logging.sql-sample-rate")
+    HibernatePropertiesCustomizer sampledSqlLoggingCustomizer(@Value("${article.logging.sql-sample-rate}") double sampleRate) {
+        return properties -> properties.put(JdbcSettings.STATEMENT_INSPECTOR, new SampledSqlStatementInspector(sampleRate));
+    }
+
+}
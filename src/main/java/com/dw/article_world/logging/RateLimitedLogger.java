@@ -0,0 +1,68 @@
+package com.dw.article_world.logging;
+
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Logs an exception with its stack trace at most once per interval for each message/exception type.
+ * Occurrences in between are only counted and reported with the next logged one.
+ */
+public class RateLimitedLogger {
+
+    private final Logger logger;
+    private final long intervalNanos;
+    private final LongSupplier nanoClock;
+    private final ConcurrentMap<String, Window> windows = new ConcurrentHashMap<>();
+
+    public RateLimitedLogger(Logger logger, Duration interval) {
+        this(logger, interval, System::nanoTime);
+    }
+
+    RateLimitedLogger(Logger logger, Duration interval, LongSupplier nanoClock) {
+        this.logger = logger;
+        this.intervalNanos = interval.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    public void error(Throwable e, String format, Object... args) {
+        if (!logger.isErrorEnabled()) {
+            return;
+        }
+        Window window = windows.computeIfAbsent(format + '|' + e.getClass().getName(), key -> new Window());
+        long suppressed = window.tryAcquire(nanoClock.getAsLong(), intervalNanos);
+        if (suppressed < 0) {
+            return;
+        }
+        Object[] argsWithThrowable = new Object[args.length + 1];
+        System.arraycopy(args, 0, argsWithThrowable, 0, args.length);
+        argsWithThrowable[args.length] = e;
+        if (suppressed > 0) {
+            logger.error(format + " (" + suppressed + " similar suppressed)", argsWithThrowable);
+        } else {
+            logger.error(format, argsWithThrowable);
+        }
+    }
+
+    private static final class Window {
+        private final AtomicLong lastLoggedAt = new AtomicLong(Long.MIN_VALUE);
+        private final AtomicLong suppressed = new AtomicLong();
+
+        /**
+         * @return the number of suppressed occurrences since the last log if this one may be logged, -1 otherwise
+         */
+        long tryAcquire(long now, long intervalNanos) {
+            long last = lastLoggedAt.get();
+            if ((last == Long.MIN_VALUE || now - last >= intervalNanos) && lastLoggedAt.compareAndSet(last, now)) {
+                return suppressed.getAndSet(0);
+            }
+            suppressed.incrementAndGet();
+            return -1;
+        }
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.dw.article_world.logging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Logs a random sample of the SQL statements Hibernate prepares, instead of echoing every one
+ * like {@code spring.jpa.show-sql}. Slow statements are logged separately by Hibernate through
+ * {@code hibernate.log_slow_query}.
+ */
+@Slf4j(topic = "com.dw.article_world.sql")
+public class SampledSqlStatementInspector implements StatementInspector {
+
+    private final double sampleRate;
+
+    public SampledSqlStatementInspector(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        if (log.isDebugEnabled() && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            log.debug("Sampled SQL: {}", sql);
+        }
+        return sql;
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.dw.article_world.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * An article moved out of ARTICLE by the archive job. Rows keep their original id, are read-only through
+ * the API and change only when a bulk update reassigns them to another user.
+ */
+@Entity
+@Table(name = "ARTICLE_ARCHIVE", indexes = @Index(name = "IDX_ARTICLE_ARCHIVE_POSTED_DATE", columnList = "postedDate"))
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ArchivedArticle implements Persistable<Integer>, Serializable {
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false, length = 120, unique = true)
+    private String title;
+
+    @Convert(converter = DeflateStringConverter.class)
+    @Column(nullable = false, length = 4096)
+    private String content;
+
+    @Column(nullable = false)
+    private Integer userId;
+
+    private LocalDateTime postedDate;
+
+    private LocalDateTime updatedDate;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedDate;
+
+    // ids are assigned from ARTICLE, so tell Spring Data to persist instead of merging (which would SELECT first)
+    @Transient
+    @Builder.Default
+    private boolean newEntity = true;
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    private void onPostLoad() {
+        this.setNewEntity(false);
+    }
+
+    public static ArchivedArticle of(Article article, LocalDateTime archivedDate) {
+        return ArchivedArticle.builder()
+                .id(article.getId())
+                .title(article.getTitle())
+                .content(article.getContent())
+                .userId(article.getUserId())
+                .postedDate(article.getPostedDate())
+                .updatedDate(article.getUpdatedDate())
+                .archivedDate(archivedDate)
+                .build();
+    }
+
+    public Article toArticle() {
+        return new Article(id, title, content, userId, postedDate, updatedDate);
+    }
+
+}
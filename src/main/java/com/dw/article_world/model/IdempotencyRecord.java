@@ -0,0 +1,73 @@
+package com.dw.article_world.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/**
+ * A claimed idempotency key. While the first request is still running the record is pending
+ * ({@code status} is null) and {@code expiresAt} is the end of its lease; afterwards it holds the response.
+ */
+@Entity
+@Table(name = "IDEMPOTENCY_KEY")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class IdempotencyRecord implements Persistable<String> {
+
+    @Id
+    @Column(length = 255)
+    private String idempotencyKey;
+
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    private Integer status;
+
+    @JdbcTypeCode(SqlTypes.LONG32VARCHAR)
+    private String body;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    // a claim must INSERT so that the primary key decides between instances, never merge into an existing row
+    @Transient
+    @Builder.Default
+    private boolean newEntity = true;
+
+    @Override
+    public String getId() {
+        return idempotencyKey;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    public boolean isPending() {
+        return status == null;
+    }
+
+    @PostLoad
+    private void onPostLoad() {
+        this.setNewEntity(false);
+    }
+
+    public static IdempotencyRecord pending(String idempotencyKey, String requestHash, Instant leaseUntil) {
+        return IdempotencyRecord.builder()
+                .idempotencyKey(idempotencyKey)
+                .requestHash(requestHash)
+                .expiresAt(leaseUntil)
+                .build();
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.dw.article_world.repo;
+
+import com.dw.article_world.model.ArchivedArticle;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ArchivedArticleRepository extends JpaRepository<ArchivedArticle, Integer> {
+
+    @Query("SELECT a FROM ArchivedArticle a ORDER BY a.postedDate DESC")
+    List<ArchivedArticle> findAllNewestFirst();
+
+    @Query("SELECT a FROM ArchivedArticle a WHERE a.postedDate >= :from ORDER BY a.postedDate DESC")
+    List<ArchivedArticle> findPostedSince(@Param("from") LocalDateTime from);
+
+    @Query("SELECT a FROM ArchivedArticle a WHERE a.postedDate >= :from AND a.postedDate < :to ORDER BY a.postedDate DESC")
+    List<ArchivedArticle> findPostedBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT a.title FROM ArchivedArticle a WHERE a.title IN :titles")
+    List<String> findTitles(@Param("titles") Collection<String> titles);
+
+    @Modifying
+    @Query("DELETE FROM ArchivedArticle a WHERE a.id = :id")
+    int deleteArchived(@Param("id") Integer id);
+}
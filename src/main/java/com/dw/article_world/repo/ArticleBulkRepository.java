@@ -0,0 +1,90 @@
+package com.dw.article_world.repo;
+
+import com.dw.article_world.bulk.BulkCriteria;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.*;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Set-based statements for bulk operations on one article table, ARTICLE or ARTICLE_ARCHIVE, chosen by entity
+ * class; both map the same {@code id}, {@code userId}, {@code postedDate} and {@code updatedDate} attributes.
+ * Only the criteria that are set end up in the SQL, and every statement is bounded by an id range or id list
+ * so callers can work in chunks.
+ */
+@Repository
+public class ArticleBulkRepository {
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    public record IdRange(int min, int max) {
+    }
+
+    public Optional<IdRange> findIdRange(Class<?> entity, BulkCriteria criteria) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<?> article = query.from(entity);
+        query.multiselect(cb.min(article.<Integer>get("id")), cb.max(article.<Integer>get("id")))
+                .where(matching(cb, article, criteria).toArray(Predicate[]::new));
+        Tuple range = entityManager.createQuery(query).getSingleResult();
+        if (range.get(0) == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new IdRange(range.get(0, Integer.class), range.get(1, Integer.class)));
+    }
+
+    public List<Integer> findIds(Class<?> entity, BulkCriteria criteria, int afterId, int maxId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Integer> query = cb.createQuery(Integer.class);
+        Root<?> article = query.from(entity);
+        List<Predicate> predicates = matching(cb, article, criteria);
+        predicates.add(cb.greaterThan(article.get("id"), afterId));
+        predicates.add(cb.lessThanOrEqualTo(article.get("id"), maxId));
+        query.select(article.get("id"))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(article.get("id")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    public <T> int updateUserId(Class<T> entity, BulkCriteria criteria, List<Integer> ids, Integer newUserId, LocalDateTime updatedDate) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<T> update = cb.createCriteriaUpdate(entity);
+        Root<T> article = update.from(entity);
+        List<Predicate> predicates = matching(cb, article, criteria);
+        predicates.add(article.get("id").in(ids));
+        update.set(article.<Integer>get("userId"), newUserId)
+                .set(article.<LocalDateTime>get("updatedDate"), updatedDate)
+                .where(predicates.toArray(Predicate[]::new));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    public <T> int delete(Class<T> entity, BulkCriteria criteria, List<Integer> ids) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaDelete<T> delete = cb.createCriteriaDelete(entity);
+        Root<T> article = delete.from(entity);
+        List<Predicate> predicates = matching(cb, article, criteria);
+        predicates.add(article.get("id").in(ids));
+        delete.where(predicates.toArray(Predicate[]::new));
+        return entityManager.createQuery(delete).executeUpdate();
+    }
+
+    // the criteria are re-checked in the UPDATE/DELETE so rows changed since their ids were read are skipped
+    private static List<Predicate> matching(CriteriaBuilder cb, Root<?> article, BulkCriteria criteria) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (criteria.userId() != null) {
+            predicates.add(cb.equal(article.get("userId"), criteria.userId()));
+        }
+        if (criteria.postedBefore() != null) {
+            predicates.add(cb.lessThan(article.get("postedDate"), criteria.postedBefore()));
+        }
+        return predicates;
+    }
+
+}
@@ -1,9 +1,49 @@
 package com.dw.article_world.repo;
 
 import com.dw.article_world.model.Article;
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ArticleRepository extends JpaRepository<Article,Integer> {
+
+    // Bounded on posted_date so Postgres can prune monthly partitions of ARTICLE.
+    @Query("SELECT a FROM Article a WHERE a.postedDate >= :from ORDER BY a.postedDate DESC")
+    List<Article> findPostedSince(@Param("from") LocalDateTime from);
+
+    @Query("SELECT a FROM Article a WHERE a.postedDate >= :from AND a.postedDate < :to ORDER BY a.postedDate DESC")
+    List<Article> findPostedBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT a FROM Article a ORDER BY a.postedDate DESC, a.id DESC")
+    List<Article> findLatest(Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Article a WHERE a.id = :id")
+    Optional<Article> findByIdForUpdate(@Param("id") Integer id);
+
+    // the row count tells concurrent deletes of the same id apart, unlike existsById followed by deleteById
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Article a WHERE a.id = :id")
+    int deleteArticleById(@Param("id") Integer id);
+
+    // locks the chunk being archived so a concurrent update can't commit between the copy and the delete;
+    // a timeout of -2 is Hibernate's SKIP LOCKED, leaving rows being updated for the next run
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT a FROM Article a WHERE a.postedDate < :before ORDER BY a.postedDate, a.id")
+    List<Article> findOldestPostedBefore(@Param("before") LocalDateTime before, Pageable pageable);
 }
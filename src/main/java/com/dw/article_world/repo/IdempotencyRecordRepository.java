@@ -0,0 +1,40 @@
+package com.dw.article_world.repo;
+
+import com.dw.article_world.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+
+    // takes over a key whose response expired or whose claiming instance never finished
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.requestHash = :requestHash, r.status = NULL, r.body = NULL, r.expiresAt = :leaseUntil " +
+            "WHERE r.idempotencyKey = :key AND r.expiresAt <= :now")
+    int reclaim(@Param("key") String key, @Param("requestHash") String requestHash,
+                @Param("leaseUntil") Instant leaseUntil, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = :status, r.body = :body, r.expiresAt = :expiresAt " +
+            "WHERE r.idempotencyKey = :key AND r.requestHash = :requestHash AND r.status IS NULL")
+    int complete(@Param("key") String key, @Param("requestHash") String requestHash, @Param("status") Integer status,
+                 @Param("body") String body, @Param("expiresAt") Instant expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.idempotencyKey = :key AND r.status IS NULL")
+    int release(@Param("key") String key);
+}
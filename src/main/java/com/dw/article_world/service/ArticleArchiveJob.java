@@ -0,0 +1,43 @@
+package com.dw.article_world.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Moves articles older than {@code article.archive.max-age} to the archive tier, one chunk per transaction.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "article.archive.enabled", havingValue = "true")
+public class ArticleArchiveJob {
+
+    @Autowired
+    ArticleArchiveService articleArchiveService;
+
+    @Value("${article.archive.max-age:365d}")
+    Duration maxAge = Duration.ofDays(365);
+
+    @Value("${article.archive.chunk-size:500}")
+    int chunkSize = 500;
+
+    @Scheduled(cron = "${article.archive.cron:0 30 2 * * *}")
+    public int archive() {
+        LocalDateTime postedBefore = LocalDateTime.now().minus(maxAge);
+        int total = 0;
+        int moved;
+        do {
+            moved = articleArchiveService.archiveChunk(postedBefore, chunkSize);
+            total += moved;
+        } while (moved == chunkSize);
+        log.info("Archived {} articles posted before {}", total, postedBefore);
+        return total;
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.dw.article_world.service;
+
+import com.dw.article_world.model.ArchivedArticle;
+import com.dw.article_world.model.Article;
+import com.dw.article_world.repo.ArchivedArticleRepository;
+import com.dw.article_world.repo.ArticleRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The cold tier of articles. {@link #archiveChunk} moves the oldest articles from ARTICLE into
+ * ARTICLE_ARCHIVE in one transaction, so an article is always in exactly one of the two tables.
+ */
+@Service
+public class ArticleArchiveService {
+
+    @Autowired
+    ArticleRepository articleRepository;
+
+    @Autowired
+    ArchivedArticleRepository archivedArticleRepository;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    public Optional<Article> find(Integer articleId) {
+        return archivedArticleRepository.findById(articleId).map(ArchivedArticle::toArticle);
+    }
+
+    public List<Article> findAll() {
+        return toArticles(archivedArticleRepository.findAllNewestFirst());
+    }
+
+    public List<Article> find(LocalDateTime from, LocalDateTime to) {
+        return toArticles(to == null
+                ? archivedArticleRepository.findPostedSince(from)
+                : archivedArticleRepository.findPostedBetween(from, to));
+    }
+
+    public List<String> findTitles(Collection<String> titles) {
+        return archivedArticleRepository.findTitles(titles);
+    }
+
+    @Transactional
+    public boolean delete(Integer articleId) {
+        return archivedArticleRepository.deleteArchived(articleId) > 0;
+    }
+
+    @Transactional
+    public int archiveChunk(LocalDateTime postedBefore, int chunkSize) {
+        List<Article> oldest = articleRepository.findOldestPostedBefore(postedBefore, PageRequest.of(0, chunkSize));
+        if (oldest.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime archivedDate = LocalDateTime.now();
+        List<Integer> ids = oldest.stream().map(Article::getId).toList();
+        // flushed first, so the moved titles are in the archive before they leave ARTICLE
+        archivedArticleRepository.saveAllAndFlush(oldest.stream().map(article -> ArchivedArticle.of(article, archivedDate)).toList());
+        articleRepository.deleteAllByIdInBatch(ids);
+        eventPublisher.publishEvent(new ArticlesBulkChangedEvent(ids));
+        return ids.size();
+    }
+
+    private static List<Article> toArticles(List<ArchivedArticle> archived) {
+        return archived.stream().map(ArchivedArticle::toArticle).toList();
+    }
+
+}
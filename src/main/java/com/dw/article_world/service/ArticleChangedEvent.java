@@ -0,0 +1,26 @@
+package com.dw.article_world.service;
+
+import com.dw.article_world.model.Article;
+
+/**
+ * Published by {@link ArticleService} for every successful write. Listeners that keep derived
+ * state (feeds, caches) should use {@code @TransactionalEventListener} so they only see committed changes.
+ */
+public record ArticleChangedEvent(Type type, Integer articleId, Article article) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    public static ArticleChangedEvent created(Article article) {
+        return new ArticleChangedEvent(Type.CREATED, article.getId(), article);
+    }
+
+    public static ArticleChangedEvent updated(Article article) {
+        return new ArticleChangedEvent(Type.UPDATED, article.getId(), article);
+    }
+
+    public static ArticleChangedEvent deleted(Integer articleId) {
+        return new ArticleChangedEvent(Type.DELETED, articleId, null);
+    }
+}
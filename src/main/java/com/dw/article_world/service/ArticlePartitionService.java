@@ -0,0 +1,145 @@
+package com.dw.article_world.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Maintains the monthly range partitions of the Postgres ARTICLE table
+ * (see db/postgres/article-partitioning.sql). Only active when
+ * {@code article.partitioning.enabled=true}.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "article.partitioning.enabled", havingValue = "true")
+public class ArticlePartitionService {
+
+    static final String PARENT_TABLE = "article";
+    static final String TITLE_TABLE = "article_title";
+    static final String PARTITION_PREFIX = PARENT_TABLE + "_p";
+    private static final DateTimeFormatter SUFFIX_FORMAT = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Value("${article.partitioning.months-ahead:3}")
+    int monthsAhead;
+
+    @Value("${article.partitioning.title-release-batch-size:5000}")
+    int titleReleaseBatchSize = 5000;
+
+    @Scheduled(cron = "${article.partitioning.cron:0 0 1 * * *}")
+    public void createUpcomingPartitions() {
+        createPartitions(YearMonth.now(), monthsAhead);
+    }
+
+    public List<String> createPartitions(YearMonth from, int monthsAhead) {
+        List<String> existing = listPartitions();
+        List<String> created = new ArrayList<>();
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = from.plusMonths(i);
+            String name = partitionName(month);
+            if (!existing.contains(name)) {
+                jdbcTemplate.execute(createPartitionSql(month));
+                created.add(name);
+            }
+        }
+        if (!created.isEmpty()) {
+            log.info("Created article partitions: {}", created);
+        }
+        return created;
+    }
+
+    public List<String> listPartitions() {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i " +
+                        "JOIN pg_class c ON c.oid = i.inhrelid " +
+                        "JOIN pg_class p ON p.oid = i.inhparent " +
+                        "WHERE p.relname = ? ORDER BY c.relname",
+                String.class, PARENT_TABLE);
+    }
+
+    /**
+     * Detaches every monthly partition that ends on or before {@code cutoff}. The detached
+     * tables are left in place as plain tables so they can be dumped or dropped separately.
+     * <p>
+     * Runs without a surrounding transaction: each DETACH commits on its own, so the ACCESS EXCLUSIVE
+     * lock it takes on ARTICLE is held for one statement rather than for the whole run. (DETACH
+     * CONCURRENTLY would avoid that lock, but Postgres refuses it while ARTICLE has a default partition.)
+     * The titles of a detached partition are then released from ARTICLE_TITLE in batches of
+     * {@code article.partitioning.title-release-batch-size}; until then they simply stay reserved.
+     * Caches of articles are invalidated once, after the last partition, even if a later one fails.
+     */
+    public List<String> detachPartitionsBefore(YearMonth cutoff) {
+        List<String> detached = new ArrayList<>();
+        try {
+            for (String name : listPartitions()) {
+                Optional<YearMonth> month = monthOf(name);
+                if (month.isPresent() && month.get().isBefore(cutoff)) {
+                    jdbcTemplate.execute("ALTER TABLE " + PARENT_TABLE + " DETACH PARTITION " + name);
+                    detached.add(name);
+                    releaseTitles(name);
+                }
+            }
+        } finally {
+            if (!detached.isEmpty()) {
+                log.info("Detached article partitions older than {}: {}", cutoff, detached);
+                eventPublisher.publishEvent(new ArticlesInvalidatedEvent("detached " + detached));
+            }
+        }
+        return detached;
+    }
+
+    private void releaseTitles(String partitionName) {
+        int released = 0;
+        int batch;
+        do {
+            batch = jdbcTemplate.update(releaseTitlesSql(partitionName), titleReleaseBatchSize);
+            released += batch;
+        } while (batch > 0);
+        log.info("Released {} titles of detached partition {}", released, partitionName);
+    }
+
+    static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(SUFFIX_FORMAT);
+    }
+
+    static Optional<YearMonth> monthOf(String partitionName) {
+        if (!partitionName.startsWith(PARTITION_PREFIX)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(YearMonth.parse(partitionName.substring(PARTITION_PREFIX.length()), SUFFIX_FORMAT));
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+
+    // one batch per statement; rows already released no longer join, so repeating it walks the partition
+    static String releaseTitlesSql(String partitionName) {
+        return "DELETE FROM " + TITLE_TABLE + " WHERE article_id IN (" +
+                "SELECT t.article_id FROM " + TITLE_TABLE + " t JOIN " + partitionName + " a ON a.id = t.article_id LIMIT ?)";
+    }
+
+    static String createPartitionSql(YearMonth month) {
+        return "CREATE TABLE IF NOT EXISTS " + partitionName(month) +
+                " PARTITION OF " + PARENT_TABLE +
+                " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')";
+    }
+
+}
@@ -1,38 +1,103 @@
 package com.dw.article_world.service;
 
 import com.dw.article_world.model.Article;
+import com.dw.article_world.exception.ArchivedArticleException;
 import com.dw.article_world.exception.InvalidArticleException;
+import com.dw.article_world.logging.RateLimitedLogger;
 import com.dw.article_world.repo.ArticleRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
 
 @Service
 @Slf4j
 public class ArticleService {
+    private static final RateLimitedLogger errorLog = new RateLimitedLogger(log, Duration.ofMinutes(1));
+
     @Autowired
     ArticleRepository articleRepository;
 
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    ArticleArchiveService articleArchiveService;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
     public Article addArticle(Article article) {
+        Article savedArticle;
+        try {
+            savedArticle = transactionTemplate.execute(status -> {
+                Article saved = articleRepository.saveAndFlush(article);
+                rejectArchivedTitles(List.of(saved.getTitle()));
+                return saved;
+            });
+        } catch (Exception e) {
+            errorLog.error(e, "Exception occurred while adding article: {}", e.getMessage());
+            return null;
+        }
+        eventPublisher.publishEvent(ArticleChangedEvent.created(savedArticle));
+        return savedArticle;
+    }
+
+    public List<Article> addArticles(List<Article> articles) {
+        List<Article> savedArticles;
         try {
-            return articleRepository.save(article);
+            savedArticles = transactionTemplate.execute(status -> {
+                List<Article> saved = articleRepository.saveAllAndFlush(articles);
+                rejectArchivedTitles(saved.stream().map(Article::getTitle).toList());
+                return saved;
+            });
         } catch (Exception e) {
-            log.error("Exception occurred while adding article: {}", e.getMessage(), e);
+            errorLog.error(e, "Exception occurred while adding {} articles: {}", articles.size(), e.getMessage());
             return null;
         }
+        savedArticles.forEach(savedArticle -> eventPublisher.publishEvent(ArticleChangedEvent.created(savedArticle)));
+        return savedArticles;
     }
 
     public List<Article> getArticles() {
+        return getArticles(false);
+    }
+
+    public List<Article> getArticles(boolean includeArchived) {
         try {
-            return articleRepository.findAll()
+            List<Article> articles = articleRepository.findAll()
                     .stream()
                     .sorted(Comparator.comparing(Article::getPostedDate).reversed())
                     .toList();
+            return includeArchived ? mergeNewestFirst(articles, articleArchiveService.findAll()) : articles;
         } catch (Exception e) {
-            log.error("Exception occurred while fetching all articles: {}", e.getMessage(), e);
+            errorLog.error(e, "Exception occurred while fetching all articles: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    public List<Article> getArticles(LocalDateTime from, LocalDateTime to) {
+        return getArticles(from, to, false);
+    }
+
+    public List<Article> getArticles(LocalDateTime from, LocalDateTime to, boolean includeArchived) {
+        try {
+            List<Article> articles = to == null
+                    ? articleRepository.findPostedSince(from)
+                    : articleRepository.findPostedBetween(from, to);
+            return includeArchived ? mergeNewestFirst(articles, articleArchiveService.find(from, to)) : articles;
+        } catch (Exception e) {
+            errorLog.error(e, "Exception occurred while fetching articles posted between {} and {}: {}", from, to, e.getMessage());
             return null;
         }
     }
@@ -40,31 +105,62 @@ public class ArticleService {
     public Article getArticle(Integer articleId) {
         return articleRepository
                 .findById(articleId)
+                .or(() -> articleArchiveService.find(articleId))
                 .orElseThrow(() -> new InvalidArticleException("Invalid Article ID"));
     }
 
+    // the row lock serialises concurrent updates and keeps a racing delete from being undone by the save;
+    // archived articles are read-only, so they get a conflict rather than the unknown-id error
+    @Transactional
     public Article updateArticle(Article article, Integer articleId) {
 
         Article existingArticle = articleRepository
-                .findById(articleId)
-                .orElseThrow(() -> new InvalidArticleException("Invalid Article ID"));
+                .findByIdForUpdate(articleId)
+                .orElseThrow(() -> articleArchiveService.find(articleId).isPresent()
+                        ? new ArchivedArticleException("Archived articles cannot be updated")
+                        : new InvalidArticleException("Invalid Article ID"));
 
         existingArticle.setUserId(article.getUserId());
         existingArticle.setTitle(article.getTitle());
         existingArticle.setContent(article.getContent());
 
-        return articleRepository.save(existingArticle);
+        Article updatedArticle = articleRepository.save(existingArticle);
+        articleRepository.flush();
+        rejectArchivedTitles(List.of(updatedArticle.getTitle()));
+        eventPublisher.publishEvent(ArticleChangedEvent.updated(updatedArticle));
+        return updatedArticle;
 
     }
 
     public boolean deleteArticle(Integer articleId) {
-        boolean exists = articleRepository.existsById(articleId);
-        if (exists) {
-            articleRepository.deleteById(articleId);
-            return true;
-        } else {
-            return false;
+        boolean deleted = articleRepository.deleteArticleById(articleId) > 0 || articleArchiveService.delete(articleId);
+        if (deleted) {
+            eventPublisher.publishEvent(ArticleChangedEvent.deleted(articleId));
+        }
+        return deleted;
+    }
+
+    // Titles are unique across ARTICLE and ARTICLE_ARCHIVE. Checking after the flush, inside the writing
+    // transaction, closes the race with archiveChunk: an INSERT of a title that is being archived waits on
+    // the unique index until the move commits, and then this check sees the title in the archive.
+    private void rejectArchivedTitles(Collection<String> titles) {
+        List<String> archived = articleArchiveService.findTitles(titles);
+        if (!archived.isEmpty()) {
+            throw new DataIntegrityViolationException("Title already used by an archived article: " + archived);
+        }
+    }
+
+    // both inputs are sorted newest first
+    private static List<Article> mergeNewestFirst(List<Article> hot, List<Article> cold) {
+        List<Article> merged = new ArrayList<>(hot.size() + cold.size());
+        int h = 0;
+        int c = 0;
+        while (h < hot.size() && c < cold.size()) {
+            merged.add(hot.get(h).getPostedDate().isBefore(cold.get(c).getPostedDate()) ? cold.get(c++) : hot.get(h++));
         }
+        merged.addAll(hot.subList(h, hot.size()));
+        merged.addAll(cold.subList(c, cold.size()));
+        return merged;
     }
 
 }
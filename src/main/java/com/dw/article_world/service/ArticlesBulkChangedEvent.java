@@ -0,0 +1,10 @@
+package com.dw.article_world.service;
+
+import java.util.List;
+
+/**
+ * Published once per committed chunk of a bulk update or delete. The rows were changed by set-based SQL,
+ * so listeners only learn which ids were touched, not their new state.
+ */
+public record ArticlesBulkChangedEvent(List<Integer> articleIds) {
+}
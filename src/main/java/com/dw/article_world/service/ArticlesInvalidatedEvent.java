@@ -0,0 +1,8 @@
+package com.dw.article_world.service;
+
+/**
+ * Published when articles were removed or changed without their ids being known, e.g. when whole
+ * partitions are detached. Listeners should drop all derived state.
+ */
+public record ArticlesInvalidatedEvent(String reason) {
+}
@@ -0,0 +1,169 @@
+package com.dw.article_world.service;
+
+import com.dw.article_world.model.Article;
+import com.dw.article_world.repo.ArticleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The newest {@code article.feed.capacity} articles, newest first, kept in memory.
+ * <p>
+ * Readers take the current snapshot without locking. Writers (committed article changes and the
+ * periodic reconciliation against the database) build a new sorted array under a lock and publish it
+ * through a volatile field.
+ * <p>
+ * Change events may arrive out of order, since deletes are published outside a transaction. An upsert
+ * is dropped when the feed already holds a newer version of the article, or when the article has been
+ * deleted: ids are never reused, so the most recent deleted ids are remembered as tombstones.
+ */
+@Component
+@Slf4j
+public class LatestArticlesFeed {
+
+    static final Comparator<Article> NEWEST_FIRST = Comparator
+            .comparing(Article::getPostedDate, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Article::getId, Comparator.nullsLast(Comparator.reverseOrder()));
+
+    @Autowired
+    ArticleRepository articleRepository;
+
+    @Value("${article.feed.capacity:100}")
+    int capacity = 100;
+
+    private static final int MAX_TOMBSTONES = 10_000;
+
+    private final Object writeLock = new Object();
+    private final Set<Integer> tombstones = Collections.newSetFromMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Boolean> eldest) {
+            return size() > MAX_TOMBSTONES;
+        }
+    });
+    private volatile Article[] snapshot = new Article[0];
+    // true when the last load returned fewer rows than the capacity, i.e. the snapshot holds the whole table
+    private boolean complete;
+
+    public List<Article> latest(int limit) {
+        Article[] current = snapshot;
+        return Collections.unmodifiableList(Arrays.asList(Arrays.copyOf(current, Math.min(limit, current.length))));
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${article.feed.reconcile-interval:PT5M}",
+            initialDelayString = "${article.feed.reconcile-interval:PT5M}")
+    public void reconcile() {
+        synchronized (writeLock) {
+            List<Article> latest = articleRepository.findLatest(PageRequest.of(0, capacity));
+            Article[] reloaded = latest.stream().map(LatestArticlesFeed::copyOf).toArray(Article[]::new);
+            log.debug("Latest articles feed reloaded with {} articles", reloaded.length);
+            snapshot = reloaded;
+            complete = reloaded.length < capacity;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        switch (event.type()) {
+            case CREATED, UPDATED -> upsert(event.article());
+            case DELETED -> remove(event.articleId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticlesBulkChanged(ArticlesBulkChangedEvent event) {
+        Set<Integer> changed = new HashSet<>(event.articleIds());
+        // bulk statements do not return the new rows, so reload once if any of them is in the feed
+        if (Arrays.stream(snapshot).anyMatch(article -> changed.contains(article.getId()))) {
+            reconcile();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticlesInvalidated(ArticlesInvalidatedEvent event) {
+        reconcile();
+    }
+
+    void upsert(Article article) {
+        synchronized (writeLock) {
+            if (tombstones.contains(article.getId())) {
+                return;
+            }
+            List<Article> next = new ArrayList<>(snapshot.length + 1);
+            for (Article existing : snapshot) {
+                if (!existing.getId().equals(article.getId())) {
+                    next.add(existing);
+                } else if (isNewer(existing, article)) {
+                    return;
+                }
+            }
+            int position = Collections.binarySearch(next, article, NEWEST_FIRST);
+            next.add(position < 0 ? -position - 1 : position, copyOf(article));
+            if (next.size() > capacity) {
+                next.subList(capacity, next.size()).clear();
+                complete = false;
+            }
+            snapshot = next.toArray(Article[]::new);
+        }
+    }
+
+    void remove(Integer articleId) {
+        synchronized (writeLock) {
+            tombstones.add(articleId);
+            Article[] current = snapshot;
+            Article[] next = Arrays.stream(current)
+                    .filter(existing -> !existing.getId().equals(articleId))
+                    .toArray(Article[]::new);
+            if (next.length == current.length) {
+                return;
+            }
+            if (complete) {
+                snapshot = next;
+            } else {
+                // the next newest article is not in memory, so take it from the database
+                reconcile();
+            }
+        }
+    }
+
+    private static boolean isNewer(Article existing, Article incoming) {
+        LocalDateTime existingVersion = version(existing);
+        LocalDateTime incomingVersion = version(incoming);
+        return existingVersion != null && incomingVersion != null && existingVersion.isAfter(incomingVersion);
+    }
+
+    private static LocalDateTime version(Article article) {
+        return article.getUpdatedDate() != null ? article.getUpdatedDate() : article.getPostedDate();
+    }
+
+    private static Article copyOf(Article article) {
+        return new Article(article.getId(), article.getTitle(), article.getContent(), article.getUserId(),
+                article.getPostedDate(), article.getUpdatedDate());
+    }
+
+}
@@ -0,0 +1,95 @@
+-- Converts ARTICLE into a table range-partitioned by posted_date with one partition per month.
+-- Run once, during a maintenance window, before setting article.partitioning.enabled=true.
+--
+-- Notes:
+--  * The primary key of a partitioned table must contain the partition key, so it becomes (id, posted_date).
+--    Ids still come from article_seq and remain unique.
+--  * A unique constraint on a partitioned table must also contain the partition key, and (title, posted_date)
+--    would not stop duplicate titles. Titles are therefore kept unique in the non-partitioned article_title
+--    table, which row triggers on article maintain in the same transaction as the article write. A duplicate
+--    title still fails the INSERT/UPDATE with a unique violation, as before.
+--  * Archived titles stay reserved: deleting an article that has just been copied into article_archive keeps
+--    its article_title row, and a trigger on article_archive releases it when the archived copy is deleted.
+--    article_archive is created by the application, so start this version once before running the script.
+--  * posted_date becomes NOT NULL; existing rows without it are backfilled from updated_date or now().
+
+BEGIN;
+
+ALTER TABLE article RENAME TO article_unpartitioned;
+
+CREATE TABLE article (
+    id           INTEGER      NOT NULL,
+    title        VARCHAR(120) NOT NULL,
+    content      VARCHAR(999) NOT NULL,
+    user_id      INTEGER      NOT NULL,
+    posted_date  TIMESTAMP(6) NOT NULL,
+    updated_date TIMESTAMP(6),
+    PRIMARY KEY (id, posted_date)
+) PARTITION BY RANGE (posted_date);
+
+CREATE INDEX article_posted_date_idx ON article (posted_date DESC);
+
+CREATE TABLE article_default PARTITION OF article DEFAULT;
+
+CREATE TABLE article_title (
+    title      VARCHAR(120) PRIMARY KEY,
+    article_id INTEGER      NOT NULL UNIQUE
+);
+
+CREATE FUNCTION article_title_sync() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO article_title (title, article_id) VALUES (NEW.title, NEW.id);
+    ELSIF TG_OP = 'UPDATE' THEN
+        UPDATE article_title SET title = NEW.title WHERE article_id = OLD.id;
+    ELSE
+        DELETE FROM article_title
+        WHERE article_id = OLD.id
+          AND NOT EXISTS (SELECT 1 FROM article_archive WHERE id = OLD.id);
+    END IF;
+    RETURN NULL;
+END $$;
+
+CREATE TRIGGER article_title_sync
+    AFTER INSERT OR UPDATE OF title OR DELETE ON article
+    FOR EACH ROW EXECUTE FUNCTION article_title_sync();
+
+CREATE FUNCTION article_archive_title_release() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+    DELETE FROM article_title WHERE article_id = OLD.id;
+    RETURN NULL;
+END $$;
+
+CREATE TRIGGER article_archive_title_release
+    AFTER DELETE ON article_archive
+    FOR EACH ROW EXECUTE FUNCTION article_archive_title_release();
+
+INSERT INTO article_title (title, article_id)
+SELECT title, id FROM article_archive;
+
+-- Create one partition per month already present in the data, plus the next three months.
+DO $$
+DECLARE
+    month DATE;
+BEGIN
+    FOR month IN
+        SELECT generate_series(
+                       date_trunc('month', COALESCE(MIN(posted_date), now())),
+                       date_trunc('month', now()) + INTERVAL '3 months',
+                       INTERVAL '1 month')::date
+        FROM article_unpartitioned
+    LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF article FOR VALUES FROM (%L) TO (%L)',
+                       'article_p' || to_char(month, 'YYYY_MM'), month, (month + INTERVAL '1 month')::date);
+    END LOOP;
+END $$;
+
+-- The trigger fills article_title while copying, so the existing titles are checked for uniqueness too,
+-- against each other and against the archived ones.
+INSERT INTO article (id, title, content, user_id, posted_date, updated_date)
+SELECT id, title, content, user_id, COALESCE(posted_date, updated_date, now()), updated_date
+FROM article_unpartitioned;
+
+DROP TABLE article_unpartitioned;
+
+COMMIT;
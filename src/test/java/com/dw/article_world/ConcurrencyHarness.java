@@ -0,0 +1,78 @@
+package com.dw.article_world;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+
+/**
+ * Runs the same operation from many threads that are released together, to make races on shared
+ * articles as likely as possible, and measures throughput for a growing number of threads.
+ */
+public final class ConcurrencyHarness {
+
+    private static final long TIMEOUT_SECONDS = 60;
+
+    public record Outcome<T>(T value, Throwable error) {
+
+        public boolean succeeded() {
+            return error == null;
+        }
+    }
+
+    private ConcurrencyHarness() {
+    }
+
+    public static <T> List<Outcome<T>> race(int threads, IntFunction<Callable<T>> task) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Outcome<T>>> futures = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                Callable<T> callable = task.apply(i);
+                futures.add(executor.submit(() -> {
+                    ready.countDown();
+                    start.await();
+                    try {
+                        return new Outcome<>(callable.call(), null);
+                    } catch (Exception | AssertionError e) {
+                        return new Outcome<T>(null, e);
+                    }
+                }));
+            }
+            ready.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            start.countDown();
+            List<Outcome<T>> outcomes = new ArrayList<>(threads);
+            for (Future<Outcome<T>> future : futures) {
+                outcomes.add(future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            }
+            return outcomes;
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Concurrent task did not complete", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs {@code opsPerThread} operations on each of {@code threads} threads and returns operations per second.
+     * The operation receives a number that is unique across all threads.
+     */
+    public static double throughput(int threads, int opsPerThread, IntConsumer operation) throws InterruptedException {
+        long startNanos = System.nanoTime();
+        List<Outcome<Void>> outcomes = race(threads, thread -> () -> {
+            for (int op = 0; op < opsPerThread; op++) {
+                operation.accept(thread * opsPerThread + op);
+            }
+            return null;
+        });
+        long elapsedNanos = System.nanoTime() - startNanos;
+        outcomes.stream().filter(outcome -> !outcome.succeeded()).findFirst().ifPresent(outcome -> {
+            throw new IllegalStateException("Throughput run failed", outcome.error());
+        });
+        return threads * opsPerThread * 1e9 / elapsedNanos;
+    }
+
+}
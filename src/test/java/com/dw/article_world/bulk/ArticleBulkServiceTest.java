@@ -0,0 +1,164 @@
+package com.dw.article_world.bulk;
+
+import com.dw.article_world.exception.InvalidArticleException;
+import com.dw.article_world.model.ArchivedArticle;
+import com.dw.article_world.model.Article;
+import com.dw.article_world.repo.ArticleBulkRepository;
+import com.dw.article_world.service.ArticlesBulkChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ArticleBulkServiceTest {
+
+    @Mock
+    private ArticleBulkRepository articleBulkRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ArticleBulkService articleBulkService;
+
+    private final BulkCriteria criteria = new BulkCriteria(7, null);
+
+    @BeforeEach
+    void setUp() {
+        articleBulkService.bulkExecutor = Runnable::run;
+        articleBulkService.chunkSize = 2;
+        articleBulkService.parallelism = 2;
+    }
+
+    private void runChunksInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void deleteSplitsIdRangeIntoSlicesAndChunks() {
+        runChunksInline();
+        when(articleBulkRepository.findIdRange(Article.class, criteria)).thenReturn(Optional.of(new ArticleBulkRepository.IdRange(1, 8)));
+        when(articleBulkRepository.findIdRange(ArchivedArticle.class, criteria)).thenReturn(Optional.empty());
+        when(articleBulkRepository.findIds(Article.class, criteria, 0, 4, 2)).thenReturn(List.of(1, 2));
+        when(articleBulkRepository.findIds(Article.class, criteria, 2, 4, 2)).thenReturn(List.of(3));
+        when(articleBulkRepository.findIds(Article.class, criteria, 3, 4, 2)).thenReturn(List.of());
+        when(articleBulkRepository.findIds(Article.class, criteria, 4, 8, 2)).thenReturn(List.of(6, 8));
+        when(articleBulkRepository.findIds(Article.class, criteria, 8, 8, 2)).thenReturn(List.of());
+        when(articleBulkRepository.delete(eq(Article.class), eq(criteria), anyList())).thenAnswer(invocation -> invocation.<List<?>>getArgument(2).size());
+
+        BulkJob.Status started = articleBulkService.delete(criteria);
+        BulkJob.Status status = articleBulkService.getJob(started.jobId()).orElseThrow();
+
+        assertAll(
+                () -> assertEquals(BulkJob.State.COMPLETED, status.state()),
+                () -> assertEquals(2, status.slices()),
+                () -> assertEquals(3, status.chunksCompleted()),
+                () -> assertEquals(5, status.rowsAffected()),
+                () -> assertNotNull(status.finishedAt())
+        );
+        verify(articleBulkRepository).delete(Article.class, criteria, List.of(1, 2));
+        verify(articleBulkRepository).delete(Article.class, criteria, List.of(3));
+        verify(articleBulkRepository).delete(Article.class, criteria, List.of(6, 8));
+        verify(eventPublisher).publishEvent(new ArticlesBulkChangedEvent(List.of(1, 2)));
+        verify(eventPublisher).publishEvent(new ArticlesBulkChangedEvent(List.of(3)));
+        verify(eventPublisher).publishEvent(new ArticlesBulkChangedEvent(List.of(6, 8)));
+    }
+
+    @Test
+    void updateSetsNewUserIdPerChunk() {
+        runChunksInline();
+        BulkCriteria olderThan = new BulkCriteria(null, LocalDateTime.of(2024, 1, 1, 0, 0));
+        when(articleBulkRepository.findIdRange(Article.class, olderThan)).thenReturn(Optional.of(new ArticleBulkRepository.IdRange(5, 5)));
+        when(articleBulkRepository.findIdRange(ArchivedArticle.class, olderThan)).thenReturn(Optional.empty());
+        when(articleBulkRepository.findIds(Article.class, olderThan, 4, 5, 2)).thenReturn(List.of(5));
+        when(articleBulkRepository.findIds(Article.class, olderThan, 5, 5, 2)).thenReturn(List.of());
+        when(articleBulkRepository.updateUserId(eq(Article.class), eq(olderThan), eq(List.of(5)), eq(9), any(LocalDateTime.class))).thenReturn(1);
+
+        BulkJob.Status status = articleBulkService.update(olderThan, 9);
+
+        assertEquals(BulkJob.State.COMPLETED, articleBulkService.getJob(status.jobId()).orElseThrow().state());
+        assertEquals(1, articleBulkService.getJob(status.jobId()).orElseThrow().rowsAffected());
+        verify(eventPublisher).publishEvent(new ArticlesBulkChangedEvent(List.of(5)));
+    }
+
+    @Test
+    void archivedArticlesAreSlicedLikeHotOnes() {
+        runChunksInline();
+        when(articleBulkRepository.findIdRange(Article.class, criteria)).thenReturn(Optional.of(new ArticleBulkRepository.IdRange(10, 10)));
+        when(articleBulkRepository.findIdRange(ArchivedArticle.class, criteria)).thenReturn(Optional.of(new ArticleBulkRepository.IdRange(3, 3)));
+        when(articleBulkRepository.findIds(Article.class, criteria, 9, 10, 2)).thenReturn(List.of(10));
+        when(articleBulkRepository.findIds(Article.class, criteria, 10, 10, 2)).thenReturn(List.of());
+        when(articleBulkRepository.findIds(ArchivedArticle.class, criteria, 2, 3, 2)).thenReturn(List.of(3));
+        when(articleBulkRepository.findIds(ArchivedArticle.class, criteria, 3, 3, 2)).thenReturn(List.of());
+        when(articleBulkRepository.delete(any(), eq(criteria), anyList())).thenReturn(1);
+
+        BulkJob.Status started = articleBulkService.delete(criteria);
+        BulkJob.Status status = articleBulkService.getJob(started.jobId()).orElseThrow();
+
+        assertEquals(BulkJob.State.COMPLETED, status.state());
+        assertEquals(2, status.slices());
+        assertEquals(2, status.rowsAffected());
+        verify(articleBulkRepository).delete(Article.class, criteria, List.of(10));
+        verify(articleBulkRepository).delete(ArchivedArticle.class, criteria, List.of(3));
+        verify(eventPublisher).publishEvent(new ArticlesBulkChangedEvent(List.of(3)));
+    }
+
+    @Test
+    void nothingMatchingCompletesImmediately() {
+        when(articleBulkRepository.findIdRange(Article.class, criteria)).thenReturn(Optional.empty());
+        when(articleBulkRepository.findIdRange(ArchivedArticle.class, criteria)).thenReturn(Optional.empty());
+
+        BulkJob.Status status = articleBulkService.delete(criteria);
+
+        assertEquals(BulkJob.State.COMPLETED, status.state());
+        assertEquals(0, status.rowsAffected());
+        verify(articleBulkRepository, never()).delete(any(), any(), anyList());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void failedChunkFailsJob() {
+        when(transactionTemplate.execute(any())).thenThrow(new RuntimeException("Database error"));
+        when(articleBulkRepository.findIdRange(Article.class, criteria)).thenReturn(Optional.of(new ArticleBulkRepository.IdRange(1, 1)));
+        when(articleBulkRepository.findIdRange(ArchivedArticle.class, criteria)).thenReturn(Optional.empty());
+        when(articleBulkRepository.findIds(Article.class, criteria, 0, 1, 2)).thenReturn(List.of(1));
+
+        BulkJob.Status status = articleBulkService.delete(criteria);
+        BulkJob.Status failed = articleBulkService.getJob(status.jobId()).orElseThrow();
+
+        assertEquals(BulkJob.State.FAILED, failed.state());
+        assertEquals("Database error", failed.error());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void emptyCriteriaAreRejected() {
+        assertThrows(InvalidArticleException.class, () -> articleBulkService.delete(new BulkCriteria(null, null)));
+        assertThrows(InvalidArticleException.class, () -> articleBulkService.update(criteria, null));
+        verifyNoInteractions(articleBulkRepository);
+    }
+
+    @Test
+    void unknownJobIsEmpty() {
+        assertTrue(articleBulkService.getJob("missing").isEmpty());
+    }
+
+}
@@ -0,0 +1,177 @@
+package com.dw.article_world.cache;
+
+import com.dw.article_world.exception.InvalidArticleException;
+import com.dw.article_world.model.Article;
+import com.dw.article_world.service.ArticleChangedEvent;
+import com.dw.article_world.service.ArticlesInvalidatedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArticleResponseCacheTest {
+
+    private ArticleResponseCache articleResponseCache;
+
+    @BeforeEach
+    void setup() {
+        articleResponseCache = new ArticleResponseCache();
+        articleResponseCache.objectMapper = new ObjectMapper().findAndRegisterModules();
+    }
+
+    @Test
+    void secondReadIsServedFromCache() {
+        AtomicInteger loads = new AtomicInteger();
+        Article article = article(1, "title");
+
+        var first = articleResponseCache.get(1, MediaType.APPLICATION_JSON, () -> {
+            loads.incrementAndGet();
+            return article;
+        });
+        var second = articleResponseCache.get(1, MediaType.APPLICATION_JSON, () -> {
+            loads.incrementAndGet();
+            return article;
+        });
+
+        assertEquals(1, loads.get());
+        assertSame(first, second);
+        assertTrue(new String(first.body(), StandardCharsets.UTF_8).contains("\"title\":\"title\""));
+        assertEquals(1, articleResponseCache.hits());
+        assertEquals(1, articleResponseCache.misses());
+    }
+
+    @Test
+    void etagChangesWithVersion() {
+        Article article = article(1, "title");
+        var original = articleResponseCache.get(1, MediaType.APPLICATION_JSON, () -> article);
+
+        article.setUpdatedDate(article.getPostedDate().plusMinutes(1));
+        articleResponseCache.onArticleChanged(ArticleChangedEvent.updated(article));
+        var updated = articleResponseCache.get(1, MediaType.APPLICATION_JSON, () -> article);
+
+        assertNotEquals(original.etag(), updated.etag());
+    }
+
+    @Test
+    void writeInvalidatesEntry() {
+        articleResponseCache.get(1, MediaType.APPLICATION_JSON, () -> article(1, "old"));
+
+        articleResponseCache.onArticleChanged(ArticleChangedEvent.deleted(1));
+        var reloaded = articleResponseCache.get(1, MediaType.APPLICATION_JSON, () -> article(1, "new"));
+
+        assertTrue(new String(reloaded.body(), StandardCharsets.UTF_8).contains("\"title\":\"new\""));
+        assertEquals(0, articleResponseCache.hits());
+    }
+
+    @Test
+    void invalidationDuringLoadPreventsCachingStaleBytes() {
+        articleResponseCache.get(1, MediaType.APPLICATION_JSON, () -> {
+            articleResponseCache.invalidate(1);
+            return article(1, "stale");
+        });
+
+        var reloaded = articleResponseCache.get(1, MediaType.APPLICATION_JSON, () -> article(1, "fresh"));
+
+        assertTrue(new String(reloaded.body(), StandardCharsets.UTF_8).contains("\"title\":\"fresh\""));
+    }
+
+    @Test
+    void invalidatingAllArticlesDropsEveryEntry() {
+        articleResponseCache.get(1, MediaType.APPLICATION_JSON, () -> article(1, "one"));
+        articleResponseCache.get(2, MediaType.APPLICATION_JSON, () -> article(2, "two"));
+
+        articleResponseCache.onArticlesInvalidated(new ArticlesInvalidatedEvent("detached partitions"));
+
+        assertEquals(0, articleResponseCache.sizeBytes());
+        assertThrows(InvalidArticleException.class, () -> articleResponseCache.get(1, MediaType.APPLICATION_JSON, () -> {
+            throw new InvalidArticleException("Invalid Article ID");
+        }));
+    }
+
+    @Test
+    void invalidatingAllDuringLoadPreventsCachingStaleBytes() {
+        articleResponseCache.get(7, MediaType.APPLICATION_JSON, () -> {
+            articleResponseCache.invalidateAll();
+            return article(7, "old");
+        });
+
+        assertEquals(0, articleResponseCache.sizeBytes());
+    }
+
+    @Test
+    void recentlyReadEntriesSurviveEviction() {
+        articleResponseCache.maxSize = DataSize.ofKilobytes(2);
+        for (int id = 1; id <= 8; id++) {
+            int articleId = id;
+            articleResponseCache.get(articleId, MediaType.APPLICATION_JSON, () -> article(articleId, "title " + articleId));
+        }
+        articleResponseCache.get(1, MediaType.APPLICATION_JSON, () -> article(1, "title 1"));
+        for (int id = 9; id <= 12; id++) {
+            int articleId = id;
+            articleResponseCache.get(articleId, MediaType.APPLICATION_JSON, () -> article(articleId, "title " + articleId));
+        }
+
+        AtomicInteger loads = new AtomicInteger();
+        articleResponseCache.get(1, MediaType.APPLICATION_JSON, () -> {
+            loads.incrementAndGet();
+            return article(1, "title 1");
+        });
+        articleResponseCache.get(2, MediaType.APPLICATION_JSON, () -> {
+            loads.incrementAndGet();
+            return article(2, "title 2");
+        });
+
+        assertTrue(articleResponseCache.sizeBytes() <= DataSize.ofKilobytes(2).toBytes());
+        assertEquals(1, loads.get(), "the entry read since insertion should outlive the unread one inserted after it");
+    }
+
+    @Test
+    void leastRecentlyUsedEntriesAreEvictedAboveMaxSize() {
+        articleResponseCache.maxSize = DataSize.ofKilobytes(2);
+        for (int id = 1; id <= 20; id++) {
+            int articleId = id;
+            articleResponseCache.get(articleId, MediaType.APPLICATION_JSON, () -> article(articleId, "title " + articleId));
+        }
+
+        assertTrue(articleResponseCache.sizeBytes() <= DataSize.ofKilobytes(2).toBytes());
+
+        AtomicInteger loads = new AtomicInteger();
+        articleResponseCache.get(20, MediaType.APPLICATION_JSON, () -> {
+            loads.incrementAndGet();
+            return article(20, "title 20");
+        });
+        articleResponseCache.get(1, MediaType.APPLICATION_JSON, () -> {
+            loads.incrementAndGet();
+            return article(1, "title 1");
+        });
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void missingArticleIsNotCached() {
+        assertThrows(InvalidArticleException.class, () -> articleResponseCache.get(1, MediaType.APPLICATION_JSON, () -> {
+            throw new InvalidArticleException("Invalid Article ID");
+        }));
+
+        assertEquals(0, articleResponseCache.sizeBytes());
+    }
+
+    private static Article article(int id, String title) {
+        return Article.builder()
+                .id(id)
+                .title(title)
+                .content("content")
+                .userId(1)
+                .postedDate(LocalDateTime.of(2024, 5, 1, 10, 0))
+                .build();
+    }
+
+}
@@ -0,0 +1,145 @@
+package com.dw.article_world.controller;
+
+import com.dw.article_world.model.Article;
+import com.dw.article_world.repo.ArchivedArticleRepository;
+import com.dw.article_world.repo.ArticleRepositoryTest;
+import com.dw.article_world.service.ArticleArchiveService;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ArticleArchiveControllerTest {
+    private static final LocalDateTime ARCHIVE_CUTOFF = LocalDateTime.of(2001, 1, 1, 0, 0);
+
+    @LocalServerPort
+    private int port;
+    private String baseUrl;
+    @Autowired
+    private ArticleRepositoryTest articleRepositoryTest;
+    @Autowired
+    private ArchivedArticleRepository archivedArticleRepository;
+    @Autowired
+    private ArticleArchiveService articleArchiveService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    private static RestTemplate restTemplate;
+    private List<Article> archived;
+    private Article hot;
+
+    @BeforeAll
+    public void init() {
+        restTemplate = new RestTemplate();
+        archived = articleRepositoryTest.saveAll(List.of(
+                Article.builder().title("Archived Article 1").content("Archived content 1. ".repeat(40)).userId(800).build(),
+                Article.builder().title("Archived Article 2").content("Archived content 2.").userId(800).build()
+        ));
+        hot = articleRepositoryTest.save(
+                Article.builder().title("Hot Article 1").content("Hot content 1.").userId(800).build()
+        );
+        // posted_date is not updatable through JPA, so backdate the rows to be archived directly
+        jdbcTemplate.update("UPDATE ARTICLE SET POSTED_DATE = ? WHERE ID = ?", ARCHIVE_CUTOFF.minusDays(2), archived.get(0).getId());
+        jdbcTemplate.update("UPDATE ARTICLE SET POSTED_DATE = ? WHERE ID = ?", ARCHIVE_CUTOFF.minusDays(1), archived.get(1).getId());
+        articleArchiveService.archiveChunk(ARCHIVE_CUTOFF, 10);
+    }
+
+    @AfterAll
+    public void clean() {
+        articleRepositoryTest.deleteById(hot.getId());
+        archived.forEach(article -> archivedArticleRepository.findById(article.getId()).ifPresent(archivedArticleRepository::delete));
+    }
+
+    @BeforeEach
+    public void setup() {
+        baseUrl = String.format("http://localhost:%d/api/articles", port);
+    }
+
+    @Test
+    @Order(1)
+    void archivedArticleIsMovedAndStillReadable() {
+        Article expected = archived.get(0);
+
+        ResponseEntity<Article> response = restTemplate.getForEntity(baseUrl + "/" + expected.getId(), Article.class);
+        Article articleFromResponse = Optional.ofNullable(response.getBody()).orElseThrow();
+
+        assertAll(
+                () -> assertTrue(articleRepositoryTest.findById(expected.getId()).isEmpty()),
+                () -> assertTrue(archivedArticleRepository.existsById(expected.getId())),
+                () -> assertEquals(HttpStatus.OK, response.getStatusCode()),
+                () -> assertEquals(expected.getTitle(), articleFromResponse.getTitle()),
+                () -> assertEquals(expected.getContent(), articleFromResponse.getContent()),
+                () -> assertEquals(ARCHIVE_CUTOFF.minusDays(2), articleFromResponse.getPostedDate())
+        );
+    }
+
+    @Test
+    @Order(2)
+    void listIncludesArchivedArticlesOnlyWhenAsked() {
+        List<Integer> hotOnly = ids(baseUrl);
+        List<Integer> bothTiers = ids(baseUrl + "?includeArchived=true");
+
+        assertAll(
+                () -> assertTrue(hotOnly.contains(hot.getId())),
+                () -> assertFalse(hotOnly.contains(archived.get(0).getId())),
+                () -> assertEquals(hotOnly.size() + 2, bothTiers.size()),
+                () -> assertEquals(List.of(archived.get(1).getId(), archived.get(0).getId()),
+                        bothTiers.subList(bothTiers.size() - 2, bothTiers.size()))
+        );
+    }
+
+    @Test
+    @Order(3)
+    void archivedArticleCannotBeUpdated() {
+        Article archivedArticle = archived.get(1);
+        Article update = Article.builder().title("Updated Archived Article").content("Updated content.").userId(801).build();
+
+        HttpClientErrorException conflict = assertThrows(HttpClientErrorException.class, () -> restTemplate.exchange(
+                baseUrl + "/" + archivedArticle.getId(), HttpMethod.PUT, new HttpEntity<>(update), Article.class));
+        ResponseEntity<Article> afterUpdate = restTemplate.getForEntity(baseUrl + "/" + archivedArticle.getId(), Article.class);
+
+        assertEquals(HttpStatus.CONFLICT, conflict.getStatusCode());
+        assertEquals(archivedArticle.getTitle(), Optional.ofNullable(afterUpdate.getBody()).orElseThrow().getTitle());
+    }
+
+    @Test
+    @Order(4)
+    void archivedArticleCanBeDeleted() {
+        Integer articleId = archived.get(1).getId();
+
+        ResponseEntity<String> response = restTemplate.exchange(baseUrl + "/" + articleId, HttpMethod.DELETE, null, String.class);
+        HttpClientErrorException afterDelete = assertThrows(HttpClientErrorException.class,
+                () -> restTemplate.getForEntity(baseUrl + "/" + articleId, String.class));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, afterDelete.getStatusCode());
+        assertFalse(archivedArticleRepository.existsById(articleId));
+    }
+
+    private List<Integer> ids(String url) {
+        ResponseEntity<List<Article>> response = restTemplate.exchange(
+                url, HttpMethod.GET, null, new ParameterizedTypeReference<>() {
+                }
+        );
+        return Optional.ofNullable(response.getBody()).orElseThrow().stream().map(Article::getId).toList();
+    }
+
+}
@@ -0,0 +1,139 @@
+package com.dw.article_world.controller;
+
+import com.dw.article_world.bulk.BulkCriteria;
+import com.dw.article_world.bulk.BulkJob;
+import com.dw.article_world.bulk.BulkUpdateRequest;
+import com.dw.article_world.model.ArchivedArticle;
+import com.dw.article_world.model.Article;
+import com.dw.article_world.repo.ArchivedArticleRepository;
+import com.dw.article_world.repo.ArticleRepositoryTest;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ArticleBulkControllerTest {
+    @LocalServerPort
+    private int port;
+    private String baseUrl;
+    @Autowired
+    private ArticleRepositoryTest articleRepositoryTest;
+    @Autowired
+    private ArchivedArticleRepository archivedArticleRepository;
+    private static RestTemplate restTemplate;
+    private List<Article> articles;
+    private ArchivedArticle archived;
+
+    @BeforeAll
+    public void init() {
+        restTemplate = new RestTemplate();
+        articles = articleRepositoryTest.saveAll(List.of(
+                Article.builder().title("Bulk Article 1").content("Bulk content 1.").userId(700).build(),
+                Article.builder().title("Bulk Article 2").content("Bulk content 2.").userId(700).build(),
+                Article.builder().title("Bulk Article 3").content("Bulk content 3.").userId(700).build(),
+                Article.builder().title("Bulk Article 4").content("Bulk content 4.").userId(702).build()
+        ));
+        LocalDateTime postedDate = LocalDateTime.of(2001, 1, 1, 0, 0);
+        archived = archivedArticleRepository.save(ArchivedArticle.builder().id(900_001).title("Bulk Archived Article")
+                .content("Bulk archived content.").userId(700).postedDate(postedDate).archivedDate(postedDate).build());
+    }
+
+    @AfterAll
+    public void clean() {
+        articleRepositoryTest.deleteAllById(articles.stream().map(Article::getId).toList());
+        archivedArticleRepository.findById(archived.getId()).ifPresent(archivedArticleRepository::delete);
+    }
+
+    @BeforeEach
+    public void setup() {
+        baseUrl = String.format("http://localhost:%d", port);
+    }
+
+    @Test
+    void bulkUpdateThenBulkDeleteByUserId() throws InterruptedException {
+        Integer cachedId = articles.get(0).getId();
+        restTemplate.getForEntity(baseUrl + "/api/articles/" + cachedId, Article.class);
+
+        ResponseEntity<BulkJob.Status> updateResponse = restTemplate.postForEntity(
+                baseUrl + "/api/admin/articles/bulk-update",
+                new BulkUpdateRequest(new BulkCriteria(700, null), 701), BulkJob.Status.class
+        );
+        BulkJob.Status updated = awaitJob(updateResponse);
+        Article afterUpdate = Optional.ofNullable(
+                restTemplate.getForEntity(baseUrl + "/api/articles/" + cachedId, Article.class).getBody()
+        ).orElseThrow();
+
+        assertAll(
+                () -> assertEquals(HttpStatus.ACCEPTED, updateResponse.getStatusCode()),
+                () -> assertNotNull(updateResponse.getHeaders().getLocation()),
+                () -> assertEquals(BulkJob.State.COMPLETED, updated.state()),
+                () -> assertEquals(4, updated.rowsAffected()),
+                () -> assertEquals(701, afterUpdate.getUserId()),
+                () -> assertEquals(701, archivedArticleRepository.findById(archived.getId()).orElseThrow().getUserId()),
+                () -> assertNotNull(afterUpdate.getUpdatedDate()),
+                () -> assertEquals(702, articleRepositoryTest.findById(articles.get(3).getId()).orElseThrow().getUserId())
+        );
+
+        BulkJob.Status deleted = awaitJob(restTemplate.postForEntity(
+                baseUrl + "/api/admin/articles/bulk-delete", new BulkCriteria(701, null), BulkJob.Status.class
+        ));
+        HttpClientErrorException afterDelete = assertThrows(HttpClientErrorException.class,
+                () -> restTemplate.getForEntity(baseUrl + "/api/articles/" + cachedId, String.class));
+
+        assertAll(
+                () -> assertEquals(BulkJob.State.COMPLETED, deleted.state()),
+                () -> assertEquals(4, deleted.rowsAffected()),
+                () -> assertFalse(archivedArticleRepository.existsById(archived.getId())),
+                () -> assertEquals(HttpStatus.BAD_REQUEST, afterDelete.getStatusCode()),
+                () -> assertTrue(articleRepositoryTest.findById(articles.get(1).getId()).isEmpty()),
+                () -> assertTrue(articleRepositoryTest.findById(articles.get(3).getId()).isPresent())
+        );
+    }
+
+    @Test
+    void bulkDeleteWithoutCriteriaIsRejected() {
+        HttpClientErrorException ex = assertThrows(HttpClientErrorException.class, () -> restTemplate.postForEntity(
+                baseUrl + "/api/admin/articles/bulk-delete", new BulkCriteria(null, null), String.class
+        ));
+
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+    }
+
+    @Test
+    void unknownJobIsNotFound() {
+        HttpClientErrorException ex = assertThrows(HttpClientErrorException.class, () -> restTemplate.getForEntity(
+                baseUrl + "/api/admin/articles/jobs/missing", String.class
+        ));
+
+        assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+    }
+
+    private BulkJob.Status awaitJob(ResponseEntity<BulkJob.Status> accepted) throws InterruptedException {
+        String location = baseUrl + Optional.ofNullable(accepted.getHeaders().getLocation()).orElseThrow();
+        for (int attempt = 0; attempt < 100; attempt++) {
+            BulkJob.Status status = Optional.ofNullable(
+                    restTemplate.getForEntity(location, BulkJob.Status.class).getBody()
+            ).orElseThrow();
+            if (status.state() != BulkJob.State.RUNNING) {
+                return status;
+            }
+            Thread.sleep(50);
+        }
+        return fail("Bulk job did not finish");
+    }
+
+}
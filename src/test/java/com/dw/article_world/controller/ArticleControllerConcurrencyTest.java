@@ -0,0 +1,136 @@
+package com.dw.article_world.controller;
+
+import com.dw.article_world.ConcurrencyHarness;
+import com.dw.article_world.ConcurrencyHarness.Outcome;
+import com.dw.article_world.model.Article;
+import com.dw.article_world.repo.ArticleRepositoryTest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.*;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ArticleControllerConcurrencyTest {
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 5;
+
+    @LocalServerPort
+    private int port;
+    private String baseUrl;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private ArticleRepositoryTest articleRepositoryTest;
+    private static RestTemplate restTemplate;
+    private final Queue<Integer> createdIds = new ConcurrentLinkedQueue<>();
+
+    @BeforeAll
+    public void init() {
+        restTemplate = new RestTemplate();
+    }
+
+    @AfterAll
+    public void clean() {
+        articleRepositoryTest.deleteAllById(createdIds.stream().filter(articleRepositoryTest::existsById).toList());
+    }
+
+    @BeforeEach
+    public void setup() {
+        baseUrl = String.format("http://localhost:%d/api/articles", port);
+    }
+
+    @Test
+    void concurrentDeletesReturnOneOkAndOtherwiseForbidden() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            Article article = create("Http Concurrent Delete " + round);
+
+            Map<Integer, Long> statuses = statusCounts(ConcurrencyHarness.race(THREADS, thread -> status(() ->
+                    restTemplate.exchange(baseUrl + "/" + article.getId(), HttpMethod.DELETE, null, String.class))));
+
+            assertEquals(Map.of(200, 1L, 403, (long) THREADS - 1), statuses);
+        }
+    }
+
+    @Test
+    void concurrentCreatesWithSameTitleReturnOneCreated() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            String title = "Http Concurrent Create " + round;
+            List<Outcome<ResponseEntity<Article>>> outcomes = ConcurrencyHarness.race(THREADS, thread -> () -> restTemplate.postForEntity(
+                    baseUrl, json(Article.builder().title(title).content("content " + thread).userId(thread).build()), Article.class));
+            outcomes.stream().filter(Outcome::succeeded)
+                    .forEach(outcome -> createdIds.add(Optional.ofNullable(outcome.value().getBody()).orElseThrow().getId()));
+
+            assertEquals(1, outcomes.stream().filter(Outcome::succeeded).count(), "exactly one create should return 201");
+            assertTrue(outcomes.stream().filter(outcome -> !outcome.succeeded())
+                    .allMatch(outcome -> outcome.error() instanceof HttpStatusCodeException));
+            assertEquals(1, articleRepositoryTest.findAll().stream().filter(article -> title.equals(article.getTitle())).count());
+        }
+    }
+
+    @Test
+    void readsRacingUpdatesEndWithCurrentArticle() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            Article article = create("Http Read Versus Update " + round);
+            String prefix = "Http Read Versus Update " + round + " by ";
+
+            List<Outcome<Integer>> outcomes = ConcurrencyHarness.race(THREADS, thread -> status(() -> thread % 2 == 0
+                    ? restTemplate.getForEntity(baseUrl + "/" + article.getId(), Article.class)
+                    : restTemplate.exchange(baseUrl + "/" + article.getId(), HttpMethod.PUT,
+                    json(Article.builder().title(prefix + thread).content("content " + thread).userId(thread).build()), Article.class)));
+            Article stored = articleRepositoryTest.findById(article.getId()).orElseThrow();
+            Article served = restTemplate.getForObject(baseUrl + "/" + article.getId(), Article.class);
+
+            assertEquals(Map.of(200, (long) THREADS), statusCounts(outcomes));
+            // a read that loaded the article before the last update must not leave the old version cached
+            assertEquals(stored, served);
+        }
+    }
+
+    private Article create(String title) throws Exception {
+        Article article = Optional.ofNullable(restTemplate.postForEntity(
+                baseUrl, json(Article.builder().title(title).content("content").userId(1).build()), Article.class
+        ).getBody()).orElseThrow();
+        createdIds.add(article.getId());
+        return article;
+    }
+
+    private HttpEntity<String> json(Article article) throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return new HttpEntity<>(objectMapper.writeValueAsString(article), headers);
+    }
+
+    private static Callable<Integer> status(Callable<ResponseEntity<?>> request) {
+        return () -> {
+            try {
+                return request.call().getStatusCode().value();
+            } catch (HttpStatusCodeException e) {
+                return e.getStatusCode().value();
+            }
+        };
+    }
+
+    private static Map<Integer, Long> statusCounts(List<Outcome<Integer>> outcomes) {
+        outcomes.stream().filter(outcome -> !outcome.succeeded()).findFirst()
+                .ifPresent(outcome -> fail("request failed without a response", outcome.error()));
+        return outcomes.stream().collect(Collectors.groupingBy(Outcome::value, Collectors.counting()));
+    }
+
+}
@@ -84,6 +84,36 @@ class ArticleControllerTest {
         assertEquals(article.getUserId(), articleResponse.getUserId());
     }
 
+    @Test
+    void addArticleWithIdempotencyKeyIsReplayed() throws Exception {
+        var article = Article.builder()
+                .title("Test Article Idempotent")
+                .content("Test content for an idempotent article.")
+                .userId(4)
+                .build();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("Idempotency-Key", "add-article-idempotent-1");
+
+        HttpEntity<String> request = new HttpEntity<>(objectMapper.writeValueAsString(article), headers);
+
+        long countBefore = articleRepositoryTest.count();
+        ResponseEntity<Article> first = restTemplate.postForEntity(baseUrl, request, Article.class);
+        ResponseEntity<Article> retry = restTemplate.postForEntity(baseUrl, request, Article.class);
+
+        Article firstArticle = Optional.ofNullable(first.getBody()).orElseThrow();
+        Article retriedArticle = Optional.ofNullable(retry.getBody()).orElseThrow();
+
+        assertAll(
+                () -> assertEquals(HttpStatus.CREATED, first.getStatusCode()),
+                () -> assertEquals(HttpStatus.CREATED, retry.getStatusCode()),
+                () -> assertEquals("true", retry.getHeaders().getFirst("Idempotent-Replayed")),
+                () -> assertEquals(firstArticle.getId(), retriedArticle.getId()),
+                () -> assertEquals(countBefore + 1, articleRepositoryTest.count())
+        );
+    }
+
     @Test
     void getArticles() {
         
@@ -103,6 +133,48 @@ class ArticleControllerTest {
         assertEquals(articles.size(), articlesFromResponse.size());
     }
 
+    @Test
+    void getLatestArticlesIncludesNewArticle() throws Exception {
+        var article = Article.builder()
+                .title("Test Article Latest")
+                .content("Test content for the latest article.")
+                .userId(5)
+                .build();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        Article created = Optional.ofNullable(restTemplate.postForEntity(
+                baseUrl, new HttpEntity<>(objectMapper.writeValueAsString(article), headers), Article.class
+        ).getBody()).orElseThrow();
+
+        ResponseEntity<List<Article>> response = restTemplate.exchange(
+                baseUrl + "/latest?limit=1",
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<>() {
+                }
+        );
+
+        List<Article> latest = Optional.ofNullable(response.getBody()).orElseThrow();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, latest.size());
+        assertEquals(created.getId(), latest.get(0).getId());
+    }
+
+    @Test
+    void getArticlesEchoesRequestId() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Request-Id", "test-request-1");
+
+        ResponseEntity<String> response = restTemplate.exchange(
+                baseUrl, HttpMethod.GET, new HttpEntity<>(headers), String.class
+        );
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("test-request-1", response.getHeaders().getFirst("X-Request-Id"));
+    }
+
     @Test
     void getArticle() {
         Article articleToFind = articles.get(0);
@@ -118,6 +190,44 @@ class ArticleControllerTest {
         assertEquals(articleToFind, articleFromResponse);
     }
 
+    @Test
+    void getArticleIsRevalidatedAndRefreshedAfterUpdate() throws JsonProcessingException {
+        var article = Article.builder()
+                .title("Test Article Cached")
+                .content("Test content for a cached article.")
+                .userId(6)
+                .build();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        Article created = Optional.ofNullable(restTemplate.postForEntity(
+                baseUrl, new HttpEntity<>(objectMapper.writeValueAsString(article), headers), Article.class
+        ).getBody()).orElseThrow();
+
+        ResponseEntity<Article> first = restTemplate.getForEntity(baseUrl + "/" + created.getId(), Article.class);
+        String etag = first.getHeaders().getETag();
+
+        HttpHeaders conditionalHeaders = new HttpHeaders();
+        conditionalHeaders.setIfNoneMatch(etag);
+        ResponseEntity<Article> notModified = restTemplate.exchange(
+                baseUrl + "/" + created.getId(), HttpMethod.GET, new HttpEntity<>(conditionalHeaders), Article.class
+        );
+
+        article.setTitle("Test Article Cached Updated");
+        restTemplate.exchange(
+                baseUrl + "/" + created.getId(), HttpMethod.PUT,
+                new HttpEntity<>(objectMapper.writeValueAsString(article), headers), Article.class
+        );
+        ResponseEntity<Article> afterUpdate = restTemplate.getForEntity(baseUrl + "/" + created.getId(), Article.class);
+
+        assertAll(
+                () -> assertEquals(HttpStatus.OK, first.getStatusCode()),
+                () -> assertNotNull(etag),
+                () -> assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode()),
+                () -> assertEquals("Test Article Cached Updated", Optional.ofNullable(afterUpdate.getBody()).orElseThrow().getTitle()),
+                () -> assertNotEquals(etag, afterUpdate.getHeaders().getETag())
+        );
+    }
+
     @Test
     void getArticleShouldReturnBadRequestForInvalidArticleId() {
         int invalidArticleId = -1;
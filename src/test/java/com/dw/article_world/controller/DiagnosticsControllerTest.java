@@ -0,0 +1,62 @@
+package com.dw.article_world.controller;
+
+import com.dw.article_world.diagnostics.DatabaseDiagnostics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DiagnosticsControllerTest {
+    @LocalServerPort
+    private int port;
+    private String baseUrl;
+    private static RestTemplate restTemplate;
+
+    @BeforeAll
+    public void init() {
+        restTemplate = new RestTemplate();
+    }
+
+    @BeforeEach
+    public void setup() {
+        baseUrl = String.format("http://localhost:%d/api/admin/diagnostics/db", port);
+    }
+
+    @Test
+    void getDatabaseDiagnostics() {
+        restTemplate.getForEntity(String.format("http://localhost:%d/api/articles", port), String.class);
+
+        ResponseEntity<DatabaseDiagnostics> response = restTemplate.getForEntity(baseUrl, DatabaseDiagnostics.class);
+
+        DatabaseDiagnostics diagnostics = Optional.ofNullable(response.getBody()).orElseThrow();
+
+        assertAll(
+                () -> assertEquals(HttpStatus.OK, response.getStatusCode()),
+                () -> assertNotNull(diagnostics.pool()),
+                () -> assertTrue(diagnostics.pool().maximum() > 0),
+                () -> assertTrue(diagnostics.connectionWaitMillis().samples() > 0),
+                () -> assertNotNull(diagnostics.slowestQueries())
+        );
+    }
+
+    @Test
+    void resetDatabaseDiagnostics() {
+        ResponseEntity<Void> response = restTemplate.postForEntity(baseUrl + "/reset", null, Void.class);
+
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.dw.article_world.diagnostics;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PoolWaitTimeRecorderTest {
+
+    private final PoolWaitTimeRecorder poolWaitTimeRecorder = new PoolWaitTimeRecorder();
+
+    @Test
+    void percentilesOfRecordedWaits() {
+        IMetricsTracker tracker = poolWaitTimeRecorder.create("article-pool", null);
+        for (int millis = 1; millis <= 100; millis++) {
+            tracker.recordConnectionAcquiredNanos(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+        tracker.recordConnectionTimeout();
+
+        PoolWaitTimeRecorder.Percentiles percentiles = poolWaitTimeRecorder.waitTimeMillis();
+
+        assertEquals(100, percentiles.samples());
+        assertEquals(50.0, percentiles.p50());
+        assertEquals(95.0, percentiles.p95());
+        assertEquals(99.0, percentiles.p99());
+        assertEquals(100.0, percentiles.max());
+        assertEquals(1, poolWaitTimeRecorder.timeouts());
+    }
+
+    @Test
+    void onlyMostRecentWindowIsKept() {
+        for (int i = 0; i < PoolWaitTimeRecorder.WINDOW_SIZE; i++) {
+            poolWaitTimeRecorder.recordWait(TimeUnit.SECONDS.toNanos(1));
+        }
+        for (int i = 0; i < PoolWaitTimeRecorder.WINDOW_SIZE; i++) {
+            poolWaitTimeRecorder.recordWait(TimeUnit.MILLISECONDS.toNanos(2));
+        }
+
+        PoolWaitTimeRecorder.Percentiles percentiles = poolWaitTimeRecorder.waitTimeMillis();
+
+        assertEquals(PoolWaitTimeRecorder.WINDOW_SIZE, percentiles.samples());
+        assertEquals(2.0, percentiles.max());
+    }
+
+    @Test
+    void resetClearsWindowAndTimeouts() {
+        poolWaitTimeRecorder.recordWait(TimeUnit.MILLISECONDS.toNanos(5));
+        poolWaitTimeRecorder.create("article-pool", null).recordConnectionTimeout();
+
+        poolWaitTimeRecorder.reset();
+
+        assertEquals(0, poolWaitTimeRecorder.waitTimeMillis().samples());
+        assertEquals(0, poolWaitTimeRecorder.timeouts());
+    }
+
+    @Test
+    void registersWithHikariDataSource() {
+        try (HikariDataSource dataSource = new HikariDataSource()) {
+            poolWaitTimeRecorder.postProcessAfterInitialization(dataSource, "dataSource");
+
+            assertSame(poolWaitTimeRecorder, dataSource.getMetricsTrackerFactory());
+        }
+    }
+
+}
@@ -0,0 +1,224 @@
+package com.dw.article_world.idempotency;
+
+import com.dw.article_world.exception.IdempotencyKeyException;
+import com.dw.article_world.model.Article;
+import com.dw.article_world.model.IdempotencyRecord;
+import com.dw.article_world.repo.IdempotencyRecordRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IdempotencyServiceTest {
+
+    private IdempotencyService idempotencyService;
+    private final Article article = Article.builder().title("title").content("content").userId(1).build();
+
+    @BeforeEach
+    void setup() {
+        idempotencyService = new IdempotencyService();
+        idempotencyService.idempotencyStore = new IdempotencyStore();
+        idempotencyService.objectMapper = new ObjectMapper().findAndRegisterModules();
+    }
+
+    @Test
+    void withoutKeyEveryRequestRuns() {
+        AtomicInteger calls = new AtomicInteger();
+
+        idempotencyService.execute(null, article, () -> ResponseEntity.status(HttpStatus.CREATED).body(calls.incrementAndGet()));
+        idempotencyService.execute(null, article, () -> ResponseEntity.status(HttpStatus.CREATED).body(calls.incrementAndGet()));
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void retryIsReplayedFromStore() {
+        AtomicInteger calls = new AtomicInteger();
+
+        ResponseEntity<?> first = idempotencyService.execute("key-1", article,
+                () -> ResponseEntity.status(HttpStatus.CREATED).body(Article.builder().id(calls.incrementAndGet()).build()));
+        ResponseEntity<?> retry = idempotencyService.execute("key-1", article,
+                () -> ResponseEntity.status(HttpStatus.CREATED).body(Article.builder().id(calls.incrementAndGet()).build()));
+
+        assertEquals(1, calls.get());
+        assertEquals(HttpStatus.CREATED, first.getStatusCode());
+        assertEquals(HttpStatus.CREATED, retry.getStatusCode());
+        assertEquals("true", retry.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertTrue(((String) retry.getBody()).contains("\"id\":1"));
+    }
+
+    @Test
+    void serverErrorsAreNotRecorded() {
+        AtomicInteger calls = new AtomicInteger();
+
+        idempotencyService.execute("key-1", article, () -> {
+            calls.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Oops!, An error occurred.");
+        });
+        ResponseEntity<?> retry = idempotencyService.execute("key-1", article, () -> {
+            calls.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.CREATED).body(article);
+        });
+
+        assertEquals(2, calls.get());
+        assertEquals(HttpStatus.CREATED, retry.getStatusCode());
+    }
+
+    @Test
+    void reusingKeyForDifferentRequestIsRejected() {
+        idempotencyService.execute("key-1", article, () -> ResponseEntity.status(HttpStatus.CREATED).body(article));
+        Article other = Article.builder().title("other").content("content").userId(1).build();
+
+        IdempotencyKeyException thrown = assertThrows(IdempotencyKeyException.class,
+                () -> idempotencyService.execute("key-1", other, () -> ResponseEntity.status(HttpStatus.CREATED).body(other)));
+
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, thrown.getStatus());
+    }
+
+    @Test
+    void concurrentDuplicatesRunOnce() throws Exception {
+        int threads = 16;
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<ResponseEntity<?>>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return idempotencyService.execute("key-1", article, () -> {
+                        calls.incrementAndGet();
+                        sleep(50);
+                        return ResponseEntity.status(HttpStatus.CREATED).body(article);
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<ResponseEntity<?>> future : futures) {
+                assertEquals(HttpStatus.CREATED, future.get(10, TimeUnit.SECONDS).getStatusCode());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void concurrentDuplicatesOnTwoInstancesRunOnce() throws Exception {
+        IdempotencyRecordRepository sharedTable = sharedIdempotencyTable();
+        List<IdempotencyService> instances = List.of(persistentInstance(sharedTable), persistentInstance(sharedTable));
+        int threads = 16;
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<ResponseEntity<?>>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                IdempotencyService instance = instances.get(i % 2);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return instance.execute("key-1", article, () -> {
+                        sleep(50);
+                        return ResponseEntity.status(HttpStatus.CREATED).body(Article.builder().id(calls.incrementAndGet()).build());
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<ResponseEntity<?>> future : futures) {
+                ResponseEntity<?> response = future.get(10, TimeUnit.SECONDS);
+                assertEquals(HttpStatus.CREATED, response.getStatusCode());
+                assertTrue(String.valueOf(response.getBody()).contains("1"));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void failedRequestReleasesClaimForOtherInstance() {
+        IdempotencyRecordRepository sharedTable = sharedIdempotencyTable();
+        IdempotencyService first = persistentInstance(sharedTable);
+        IdempotencyService second = persistentInstance(sharedTable);
+
+        assertThrows(IllegalStateException.class, () -> first.execute("key-1", article, () -> {
+            throw new IllegalStateException("Database error");
+        }));
+        ResponseEntity<?> retry = second.execute("key-1", article, () -> ResponseEntity.status(HttpStatus.CREATED).body(article));
+
+        assertEquals(HttpStatus.CREATED, retry.getStatusCode());
+        assertNull(retry.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+    }
+
+    private IdempotencyService persistentInstance(IdempotencyRecordRepository sharedTable) {
+        IdempotencyService instance = new IdempotencyService();
+        instance.objectMapper = idempotencyService.objectMapper;
+        instance.idempotencyStore = new IdempotencyStore();
+        instance.idempotencyStore.persistent = true;
+        instance.idempotencyStore.idempotencyRecordRepository = sharedTable;
+        return instance;
+    }
+
+    // an IDEMPOTENCY_KEY table shared by several instances, with the primary key enforced on insert
+    private static IdempotencyRecordRepository sharedIdempotencyTable() {
+        Map<String, IdempotencyRecord> rows = new ConcurrentHashMap<>();
+        IdempotencyRecordRepository repository = mock(IdempotencyRecordRepository.class);
+        when(repository.findById(anyString())).thenAnswer(invocation ->
+                Optional.ofNullable(rows.get(invocation.<String>getArgument(0))).map(IdempotencyServiceTest::loaded));
+        when(repository.saveAndFlush(any())).thenAnswer(invocation -> {
+            IdempotencyRecord record = invocation.getArgument(0);
+            if (rows.putIfAbsent(record.getIdempotencyKey(), loaded(record)) != null) {
+                throw new DataIntegrityViolationException("duplicate key " + record.getIdempotencyKey());
+            }
+            return record;
+        });
+        when(repository.complete(anyString(), anyString(), anyInt(), any(), any())).thenAnswer(invocation -> {
+            AtomicInteger updated = new AtomicInteger();
+            rows.computeIfPresent(invocation.getArgument(0), (key, row) -> {
+                if (!row.isPending() || !row.getRequestHash().equals(invocation.getArgument(1))) {
+                    return row;
+                }
+                updated.incrementAndGet();
+                IdempotencyRecord completed = loaded(row);
+                completed.setStatus(invocation.getArgument(2));
+                completed.setBody(invocation.getArgument(3));
+                completed.setExpiresAt(invocation.getArgument(4));
+                return completed;
+            });
+            return updated.get();
+        });
+        when(repository.release(anyString())).thenAnswer(invocation ->
+                rows.computeIfPresent(invocation.getArgument(0), (key, row) -> row.isPending() ? null : row) == null ? 1 : 0);
+        return repository;
+    }
+
+    private static IdempotencyRecord loaded(IdempotencyRecord record) {
+        return new IdempotencyRecord(record.getIdempotencyKey(), record.getRequestHash(), record.getStatus(),
+                record.getBody(), record.getExpiresAt(), false);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,158 @@
+package com.dw.article_world.idempotency;
+
+import com.dw.article_world.model.IdempotencyRecord;
+import com.dw.article_world.repo.IdempotencyRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyStoreTest {
+
+    private static final Instant NOW = Instant.parse("2024-05-01T10:00:00Z");
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @InjectMocks
+    private IdempotencyStore idempotencyStore;
+
+    @BeforeEach
+    void setup() {
+        idempotencyStore.clock = Clock.fixed(NOW, ZoneOffset.UTC);
+        idempotencyStore.ttl = Duration.ofMinutes(5);
+        idempotencyStore.maxEntries = 2;
+    }
+
+    @Test
+    void findReturnsSavedResponse() {
+        idempotencyStore.save("key-1", "hash", 201, "{\"id\":1}");
+
+        IdempotentResponse response = idempotencyStore.find("key-1").orElseThrow();
+
+        assertEquals("hash", response.requestHash());
+        assertEquals(201, response.status());
+        assertEquals("{\"id\":1}", response.body());
+        assertEquals(NOW.plus(Duration.ofMinutes(5)), response.expiresAt());
+        verify(idempotencyRecordRepository, never()).save(any());
+    }
+
+    @Test
+    void entriesExpireAfterTtl() {
+        idempotencyStore.save("key-1", "hash", 201, "{}");
+
+        idempotencyStore.clock = Clock.fixed(NOW.plus(Duration.ofMinutes(5)), ZoneOffset.UTC);
+
+        assertTrue(idempotencyStore.find("key-1").isEmpty());
+        assertEquals(0, idempotencyStore.size());
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvicted() {
+        idempotencyStore.save("key-1", "hash", 201, "{}");
+        idempotencyStore.save("key-2", "hash", 201, "{}");
+        idempotencyStore.find("key-1");
+        idempotencyStore.save("key-3", "hash", 201, "{}");
+
+        assertEquals(2, idempotencyStore.size());
+        assertTrue(idempotencyStore.find("key-1").isPresent());
+        assertTrue(idempotencyStore.find("key-2").isEmpty());
+        assertTrue(idempotencyStore.find("key-3").isPresent());
+    }
+
+    @Test
+    void persistentStoreCompletesClaimedRecord() {
+        idempotencyStore.persistent = true;
+        when(idempotencyRecordRepository.complete("key-1", "hash", 201, "{}", NOW.plus(Duration.ofMinutes(5)))).thenReturn(1);
+
+        idempotencyStore.save("key-1", "hash", 201, "{}");
+
+        verify(idempotencyRecordRepository, times(1)).complete("key-1", "hash", 201, "{}", NOW.plus(Duration.ofMinutes(5)));
+    }
+
+    @Test
+    void claimWithoutPersistenceIsAlwaysAcquired() {
+        assertEquals(IdempotencyStore.Claim.State.ACQUIRED, idempotencyStore.claim("key-1", "hash").state());
+        verifyNoInteractions(idempotencyRecordRepository);
+    }
+
+    @Test
+    void claimInsertsPendingRecord() {
+        idempotencyStore.persistent = true;
+        when(idempotencyRecordRepository.findById("key-1")).thenReturn(Optional.empty());
+
+        IdempotencyStore.Claim claim = idempotencyStore.claim("key-1", "hash");
+
+        assertEquals(IdempotencyStore.Claim.State.ACQUIRED, claim.state());
+        verify(idempotencyRecordRepository, times(1)).saveAndFlush(argThat(record ->
+                record.getIdempotencyKey().equals("key-1") && record.isPending() && record.isNew()
+                        && record.getExpiresAt().equals(NOW.plus(idempotencyStore.claimTimeout))));
+    }
+
+    @Test
+    void claimLosingInsertRaceIsInProgress() {
+        idempotencyStore.persistent = true;
+        when(idempotencyRecordRepository.findById("key-1")).thenReturn(Optional.empty());
+        when(idempotencyRecordRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        assertEquals(IdempotencyStore.Claim.State.IN_PROGRESS, idempotencyStore.claim("key-1", "hash").state());
+    }
+
+    @Test
+    void claimOfPendingRecordIsInProgress() {
+        idempotencyStore.persistent = true;
+        when(idempotencyRecordRepository.findById("key-1"))
+                .thenReturn(Optional.of(IdempotencyRecord.pending("key-1", "hash", NOW.plusSeconds(10))));
+
+        assertEquals(IdempotencyStore.Claim.State.IN_PROGRESS, idempotencyStore.claim("key-1", "hash").state());
+        assertTrue(idempotencyStore.find("key-1").isEmpty());
+        verify(idempotencyRecordRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void claimOfCompletedRecordReturnsResponse() {
+        idempotencyStore.persistent = true;
+        IdempotencyRecord record = IdempotencyRecord.builder()
+                .idempotencyKey("key-1").requestHash("hash").status(201).body("{}").expiresAt(NOW.plusSeconds(10)).build();
+        when(idempotencyRecordRepository.findById("key-1")).thenReturn(Optional.of(record));
+
+        IdempotencyStore.Claim claim = idempotencyStore.claim("key-1", "hash");
+
+        assertEquals(IdempotencyStore.Claim.State.COMPLETED, claim.state());
+        assertEquals(201, claim.response().status());
+    }
+
+    @Test
+    void abandonedClaimIsTakenOver() {
+        idempotencyStore.persistent = true;
+        when(idempotencyRecordRepository.findById("key-1"))
+                .thenReturn(Optional.of(IdempotencyRecord.pending("key-1", "other", NOW.minusSeconds(1))));
+        when(idempotencyRecordRepository.reclaim("key-1", "hash", NOW.plus(idempotencyStore.claimTimeout), NOW)).thenReturn(1);
+
+        assertEquals(IdempotencyStore.Claim.State.ACQUIRED, idempotencyStore.claim("key-1", "hash").state());
+    }
+
+    @Test
+    void releaseDeletesPendingRecord() {
+        idempotencyStore.persistent = true;
+
+        idempotencyStore.release("key-1");
+
+        verify(idempotencyRecordRepository, times(1)).release("key-1");
+    }
+
+}
@@ -0,0 +1,167 @@
+package com.dw.article_world.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares logging throughput when writing synchronously to a file against logging through a bounded,
+ * non-blocking {@link AsyncAppender} as in the prod profile. No HTTP request or database call is made: a
+ * "request" here is only the three INFO calls {@link #handleRequest} makes under a request id in the MDC,
+ * so the numbers show the cost of logging alone, not of serving articles.
+ * The async appender discards INFO events when its queue is 80% full, so the lines that reached the file
+ * are counted and reported next to the throughput; nothing is asserted about which mode is faster.
+ * Run with {@code mvn test -Dtest=AsyncLoggingBenchmark -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class AsyncLoggingBenchmark {
+
+    private static final int THREADS = 8;
+    private static final long WARMUP_MILLIS = 1_000;
+    private static final long MEASURE_MILLIS = 3_000;
+
+    private static final int EVENTS_PER_REQUEST = 3;
+
+    private record Result(double requestsPerSecond, long events, long written) {
+
+        long dropped() {
+            return events - written;
+        }
+    }
+
+    private enum Mode {
+        SYNC, ASYNC_LOSSLESS, ASYNC_PROD
+    }
+
+    @Test
+    void reportsLoggingThroughputAndDeliveredEventsPerAppender() throws Exception {
+        Result sync = measure(Mode.SYNC);
+        Result lossless = measure(Mode.ASYNC_LOSSLESS);
+        Result prod = measure(Mode.ASYNC_PROD);
+
+        report("sync", sync, sync);
+        report("async, blocking", lossless, sync);
+        report("async, prod settings", prod, sync);
+
+        assertEquals(sync.events(), sync.written(), "Synchronous logging must write every event");
+        assertEquals(lossless.events(), lossless.written(), "Blocking async logging must write every event");
+        assertTrue(prod.written() > 0, "Async logging must write events");
+        assertTrue(prod.written() <= prod.events());
+    }
+
+    private static void report(String name, Result result, Result baseline) {
+        System.out.printf("%-21s %,10.0f requests/s (%.1fx), %,d of %,d events written, %,d dropped%n",
+                name + ":", result.requestsPerSecond(), result.requestsPerSecond() / baseline.requestsPerSecond(),
+                result.written(), result.events(), result.dropped());
+    }
+
+    private Result measure(Mode mode) throws Exception {
+        LoggerContext context = new LoggerContext();
+        // a bare context has no MDC adapter, and logback then fails (and swallows) every append
+        LogbackMDCAdapter mdc = new LogbackMDCAdapter();
+        context.setMDCAdapter(mdc);
+        File logFile = Files.createTempFile("article-world-benchmark", ".log").toFile();
+        logFile.deleteOnExit();
+        Appender<ILoggingEvent> appender = appender(context, logFile, mode);
+        Logger logger = context.getLogger("benchmark");
+        logger.addAppender(appender);
+
+        long requests;
+        long measured;
+        try {
+            requests = run(logger, mdc, WARMUP_MILLIS);
+            measured = run(logger, mdc, MEASURE_MILLIS);
+            requests += measured;
+        } finally {
+            // stopping the async appender drains its queue into the file
+            context.stop();
+        }
+        long written;
+        try (Stream<String> lines = Files.lines(logFile.toPath())) {
+            written = lines.count();
+        }
+        return new Result(measured * 1_000.0 / MEASURE_MILLIS, requests * EVENTS_PER_REQUEST, written);
+    }
+
+    private long run(Logger logger, LogbackMDCAdapter mdc, long millis) throws InterruptedException {
+        LongAdder requests = new LongAdder();
+        CountDownLatch done = new CountDownLatch(THREADS);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Thread thread = new Thread(() -> {
+                while (System.nanoTime() < deadline) {
+                    handleRequest(logger, mdc, requests.sum());
+                    requests.increment();
+                }
+                done.countDown();
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        done.await();
+        return requests.sum();
+    }
+
+    private static void handleRequest(Logger logger, LogbackMDCAdapter mdc, long requestNumber) {
+        mdc.put(RequestIdFilter.REQUEST_ID_MDC_KEY, Long.toString(requestNumber));
+        try {
+            logger.info("getArticles {}", requestNumber);
+            logger.info("select a1_0.id,a1_0.content,a1_0.posted_date,a1_0.title,a1_0.updated_date,a1_0.user_id from article a1_0");
+            logger.info("Returned {} articles", requestNumber % 50);
+        } finally {
+            mdc.remove(RequestIdFilter.REQUEST_ID_MDC_KEY);
+        }
+    }
+
+    private static Appender<ILoggingEvent> appender(LoggerContext context, File logFile, Mode mode) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{ISO8601} %-5level [%thread] [%X{requestId}] %logger - %msg%n");
+        encoder.start();
+
+        FileAppender<ILoggingEvent> fileAppender = new FileAppender<>();
+        fileAppender.setContext(context);
+        fileAppender.setFile(logFile.getAbsolutePath());
+        fileAppender.setEncoder(encoder);
+        fileAppender.setImmediateFlush(true);
+        fileAppender.start();
+        if (mode == Mode.SYNC) {
+            return fileAppender;
+        }
+
+        AsyncAppender asyncAppender = new AsyncAppender();
+        asyncAppender.setContext(context);
+        asyncAppender.setQueueSize(8192);
+        if (mode == Mode.ASYNC_PROD) {
+            asyncAppender.setDiscardingThreshold(1638);
+            asyncAppender.setNeverBlock(true);
+        } else {
+            asyncAppender.setDiscardingThreshold(0);
+        }
+        asyncAppender.setMaxFlushTime(0);
+        asyncAppender.addAppender(fileAppender);
+        asyncAppender.start();
+        return asyncAppender;
+    }
+
+}
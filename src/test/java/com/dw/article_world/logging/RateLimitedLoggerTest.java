@@ -0,0 +1,76 @@
+package com.dw.article_world.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitedLoggerTest {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private Logger logger;
+    private ListAppender<ILoggingEvent> appender;
+    private RateLimitedLogger rateLimitedLogger;
+
+    @BeforeEach
+    void setup() {
+        logger = (Logger) LoggerFactory.getLogger(RateLimitedLoggerTest.class);
+        appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+        rateLimitedLogger = new RateLimitedLogger(logger, Duration.ofSeconds(10), nanoTime::get);
+    }
+
+    @AfterEach
+    void clean() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void logsFirstOccurrenceWithStackTrace() {
+        RuntimeException exception = new RuntimeException("Database error");
+
+        rateLimitedLogger.error(exception, "Exception occurred while adding article: {}", exception.getMessage());
+
+        assertEquals(1, appender.list.size());
+        ILoggingEvent event = appender.list.get(0);
+        assertEquals("Exception occurred while adding article: Database error", event.getFormattedMessage());
+        assertNotNull(event.getThrowableProxy());
+        assertEquals("Database error", event.getThrowableProxy().getMessage());
+    }
+
+    @Test
+    void suppressesRepeatsWithinInterval() {
+        RuntimeException exception = new RuntimeException("Database error");
+
+        for (int i = 0; i < 5; i++) {
+            rateLimitedLogger.error(exception, "Exception occurred while adding article: {}", exception.getMessage());
+        }
+        assertEquals(1, appender.list.size());
+
+        nanoTime.addAndGet(Duration.ofSeconds(10).toNanos());
+        rateLimitedLogger.error(exception, "Exception occurred while adding article: {}", exception.getMessage());
+
+        assertEquals(2, appender.list.size());
+        assertEquals("Exception occurred while adding article: Database error (4 similar suppressed)",
+                appender.list.get(1).getFormattedMessage());
+    }
+
+    @Test
+    void limitsEachMessageAndExceptionTypeSeparately() {
+        rateLimitedLogger.error(new RuntimeException("a"), "Exception occurred while adding article: {}", "a");
+        rateLimitedLogger.error(new IllegalStateException("b"), "Exception occurred while adding article: {}", "b");
+        rateLimitedLogger.error(new RuntimeException("c"), "Exception occurred while fetching all articles: {}", "c");
+
+        assertEquals(3, appender.list.size());
+    }
+
+}
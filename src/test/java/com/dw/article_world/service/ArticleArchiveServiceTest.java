@@ -0,0 +1,82 @@
+package com.dw.article_world.service;
+
+import com.dw.article_world.model.ArchivedArticle;
+import com.dw.article_world.model.Article;
+import com.dw.article_world.repo.ArchivedArticleRepository;
+import com.dw.article_world.repo.ArticleRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ArticleArchiveServiceTest {
+
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    @Mock
+    private ArchivedArticleRepository archivedArticleRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ArticleArchiveService articleArchiveService;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void archiveChunkMovesOldestArticles() {
+        Article article1 = Article.builder().id(1).title("title1").content("content1").userId(1)
+                .postedDate(LocalDateTime.of(2023, 1, 1, 0, 0)).build();
+        Article article2 = Article.builder().id(2).title("title2").content("content2").userId(2)
+                .postedDate(LocalDateTime.of(2023, 6, 1, 0, 0)).updatedDate(LocalDateTime.of(2023, 7, 1, 0, 0)).build();
+        when(articleRepository.findOldestPostedBefore(CUTOFF, PageRequest.of(0, 2))).thenReturn(List.of(article1, article2));
+
+        int moved = articleArchiveService.archiveChunk(CUTOFF, 2);
+
+        ArgumentCaptor<List<ArchivedArticle>> archived = ArgumentCaptor.forClass(List.class);
+        verify(archivedArticleRepository).saveAllAndFlush(archived.capture());
+        assertEquals(2, moved);
+        assertEquals(List.of(article1, article2), archived.getValue().stream().map(ArchivedArticle::toArticle).toList());
+        assertTrue(archived.getValue().stream().allMatch(ArchivedArticle::isNew));
+        verify(articleRepository).deleteAllByIdInBatch(List.of(1, 2));
+        verify(eventPublisher).publishEvent(new ArticlesBulkChangedEvent(List.of(1, 2)));
+    }
+
+    @Test
+    void archiveChunkWithNothingOldIsNoOp() {
+        when(articleRepository.findOldestPostedBefore(CUTOFF, PageRequest.of(0, 10))).thenReturn(List.of());
+
+        assertEquals(0, articleArchiveService.archiveChunk(CUTOFF, 10));
+        verify(archivedArticleRepository, never()).saveAllAndFlush(any());
+        verify(articleRepository, never()).deleteAllByIdInBatch(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void findReturnsArchivedArticle() {
+        ArchivedArticle archived = ArchivedArticle.builder().id(5).title("title").content("content").userId(1)
+                .archivedDate(CUTOFF).build();
+        when(archivedArticleRepository.findById(5)).thenReturn(Optional.of(archived));
+        when(archivedArticleRepository.findById(6)).thenReturn(Optional.empty());
+
+        assertEquals(Optional.of(archived.toArticle()), articleArchiveService.find(5));
+        assertTrue(articleArchiveService.find(6).isEmpty());
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.dw.article_world.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ArticlePartitionServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ArticlePartitionService articlePartitionService;
+
+    @Test
+    void partitionNameRoundTrips() {
+        YearMonth month = YearMonth.of(2024, 3);
+
+        assertEquals("article_p2024_03", ArticlePartitionService.partitionName(month));
+        assertEquals(Optional.of(month), ArticlePartitionService.monthOf("article_p2024_03"));
+        assertEquals(Optional.empty(), ArticlePartitionService.monthOf("article_default"));
+        assertEquals(Optional.empty(), ArticlePartitionService.monthOf("article_pbogus"));
+    }
+
+    @Test
+    void createPartitionSqlCoversWholeMonth() {
+        assertEquals(
+                "CREATE TABLE IF NOT EXISTS article_p2024_12 PARTITION OF article " +
+                        "FOR VALUES FROM ('2024-12-01') TO ('2025-01-01')",
+                ArticlePartitionService.createPartitionSql(YearMonth.of(2024, 12)));
+    }
+
+    @Test
+    void createPartitionsSkipsExisting() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any()))
+                .thenReturn(List.of("article_default", "article_p2024_05"));
+
+        List<String> created = articlePartitionService.createPartitions(YearMonth.of(2024, 5), 2);
+
+        assertEquals(List.of("article_p2024_06", "article_p2024_07"), created);
+        verify(jdbcTemplate, times(1)).execute(ArticlePartitionService.createPartitionSql(YearMonth.of(2024, 6)));
+        verify(jdbcTemplate, times(1)).execute(ArticlePartitionService.createPartitionSql(YearMonth.of(2024, 7)));
+        verify(jdbcTemplate, never()).execute(ArticlePartitionService.createPartitionSql(YearMonth.of(2024, 5)));
+    }
+
+    @Test
+    void detachPartitionsBeforeCutoff() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any()))
+                .thenReturn(List.of("article_default", "article_p2023_11", "article_p2023_12", "article_p2024_01"));
+
+        List<String> detached = articlePartitionService.detachPartitionsBefore(YearMonth.of(2024, 1));
+
+        assertEquals(List.of("article_p2023_11", "article_p2023_12"), detached);
+        verify(jdbcTemplate, times(1)).execute("ALTER TABLE article DETACH PARTITION article_p2023_11");
+        verify(jdbcTemplate, times(1)).execute("ALTER TABLE article DETACH PARTITION article_p2023_12");
+        verify(jdbcTemplate, never()).execute("ALTER TABLE article DETACH PARTITION article_p2024_01");
+        verify(jdbcTemplate, never()).execute("ALTER TABLE article DETACH PARTITION article_default");
+        verify(jdbcTemplate, times(1)).update(ArticlePartitionService.releaseTitlesSql("article_p2023_11"), 5000);
+        verify(jdbcTemplate, times(1)).update(ArticlePartitionService.releaseTitlesSql("article_p2023_12"), 5000);
+        verify(jdbcTemplate, times(2)).update(anyString(), anyInt());
+        verify(eventPublisher, times(1)).publishEvent(any(ArticlesInvalidatedEvent.class));
+    }
+
+    @Test
+    void titlesAreReleasedInBatchesUntilNoneAreLeft() {
+        String releaseSql = ArticlePartitionService.releaseTitlesSql("article_p2023_12");
+        articlePartitionService.titleReleaseBatchSize = 2;
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any())).thenReturn(List.of("article_p2023_12"));
+        when(jdbcTemplate.update(releaseSql, 2)).thenReturn(2, 1, 0);
+
+        articlePartitionService.detachPartitionsBefore(YearMonth.of(2024, 1));
+
+        verify(jdbcTemplate, times(3)).update(releaseSql, 2);
+    }
+
+    @Test
+    void partitionsDetachedBeforeAFailureAreStillInvalidated() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any()))
+                .thenReturn(List.of("article_p2023_11", "article_p2023_12"));
+        doThrow(new RuntimeException("lock timeout"))
+                .when(jdbcTemplate).execute("ALTER TABLE article DETACH PARTITION article_p2023_12");
+
+        assertThrows(RuntimeException.class, () -> articlePartitionService.detachPartitionsBefore(YearMonth.of(2024, 1)));
+
+        verify(eventPublisher).publishEvent(new ArticlesInvalidatedEvent("detached [article_p2023_11]"));
+    }
+
+    @Test
+    void detachingNothingDoesNotInvalidate() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any()))
+                .thenReturn(List.of("article_default", "article_p2024_01"));
+
+        assertTrue(articlePartitionService.detachPartitionsBefore(YearMonth.of(2024, 1)).isEmpty());
+        verifyNoInteractions(eventPublisher);
+    }
+
+}
@@ -0,0 +1,186 @@
+package com.dw.article_world.service;
+
+import com.dw.article_world.ConcurrencyHarness;
+import com.dw.article_world.ConcurrencyHarness.Outcome;
+import com.dw.article_world.exception.ArchivedArticleException;
+import com.dw.article_world.exception.InvalidArticleException;
+import com.dw.article_world.model.ArchivedArticle;
+import com.dw.article_world.model.Article;
+import com.dw.article_world.repo.ArchivedArticleRepository;
+import com.dw.article_world.repo.ArticleRepositoryTest;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fires concurrent writes at the same articles through {@link ArticleService} against the test database.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Slf4j
+class ArticleServiceConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 5;
+    private static final LocalDateTime ARCHIVE_CUTOFF = LocalDateTime.of(2002, 1, 1, 0, 0);
+
+    @Autowired
+    private ArticleService articleService;
+    @Autowired
+    private ArticleRepositoryTest articleRepositoryTest;
+    @Autowired
+    private ArticleArchiveService articleArchiveService;
+    @Autowired
+    private ArchivedArticleRepository archivedArticleRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Queue<Integer> createdIds = new ConcurrentLinkedQueue<>();
+
+    @AfterAll
+    public void clean() {
+        articleRepositoryTest.deleteAllById(createdIds.stream().filter(articleRepositoryTest::existsById).toList());
+        archivedArticleRepository.deleteAllById(createdIds.stream().filter(archivedArticleRepository::existsById).toList());
+    }
+
+    @Test
+    void concurrentUpdatesLeaveOneCompleteWrite() throws InterruptedException {
+        for (int round = 0; round < ROUNDS; round++) {
+            Article article = create("Concurrent Update " + round);
+            String prefix = "Concurrent Update " + round + " by thread ";
+
+            List<Outcome<Article>> outcomes = ConcurrencyHarness.race(THREADS, thread -> () -> articleService.updateArticle(
+                    Article.builder().title(prefix + thread).content("content by thread " + thread).userId(thread).build(),
+                    article.getId()));
+            Article stored = articleRepositoryTest.findById(article.getId()).orElseThrow();
+            int writer = Integer.parseInt(stored.getTitle().substring(prefix.length()));
+
+            assertTrue(outcomes.stream().allMatch(Outcome::succeeded), "every update should succeed");
+            // the row holds exactly one writer's values, never a mix of two
+            assertEquals("content by thread " + writer, stored.getContent());
+            assertEquals(writer, stored.getUserId());
+            assertNotNull(stored.getUpdatedDate());
+        }
+    }
+
+    @Test
+    void concurrentDeletesSucceedExactlyOnce() throws InterruptedException {
+        for (int round = 0; round < ROUNDS; round++) {
+            Article article = create("Concurrent Delete " + round);
+
+            List<Outcome<Boolean>> outcomes = ConcurrencyHarness.race(THREADS, thread -> () -> articleService.deleteArticle(article.getId()));
+
+            assertTrue(outcomes.stream().allMatch(Outcome::succeeded));
+            assertEquals(1, outcomes.stream().filter(Outcome::value).count(), "exactly one delete should report success");
+            assertTrue(articleRepositoryTest.findById(article.getId()).isEmpty());
+        }
+    }
+
+    @Test
+    void updateRacingDeleteNeverResurrectsArticle() throws InterruptedException {
+        for (int round = 0; round < ROUNDS; round++) {
+            Article article = create("Update Versus Delete " + round);
+            String prefix = "Update Versus Delete " + round + " by ";
+            long countBefore = articleRepositoryTest.count();
+
+            List<Outcome<Object>> outcomes = ConcurrencyHarness.race(THREADS, thread -> () -> thread % 2 == 0
+                    ? articleService.deleteArticle(article.getId())
+                    : articleService.updateArticle(Article.builder().title(prefix + thread)
+                    .content("content").userId(thread).build(), article.getId()));
+
+            long deletes = outcomes.stream().filter(outcome -> Boolean.TRUE.equals(outcome.value())).count();
+            List<Throwable> failures = outcomes.stream().filter(outcome -> !outcome.succeeded()).map(Outcome::error).toList();
+
+            assertEquals(1, deletes, "exactly one delete should report success");
+            assertTrue(failures.stream().allMatch(InvalidArticleException.class::isInstance),
+                    "updates after the delete should see a missing article, got " + failures);
+            assertTrue(articleRepositoryTest.findById(article.getId()).isEmpty());
+            assertEquals(countBefore - 1, articleRepositoryTest.count(), "no update may re-insert the deleted article");
+        }
+    }
+
+    @Test
+    void updateRacingArchiveIsNeverLost() throws InterruptedException {
+        for (int round = 0; round < ROUNDS * 4; round++) {
+            Article article = create("Update Versus Archive " + round);
+            // posted_date is not updatable through JPA, so backdate the row directly
+            jdbcTemplate.update("UPDATE ARTICLE SET POSTED_DATE = ? WHERE ID = ?", ARCHIVE_CUTOFF.minusDays(1), article.getId());
+            String updatedContent = "content updated in round " + round;
+
+            List<Outcome<Object>> outcomes = ConcurrencyHarness.race(2, thread -> () -> thread == 0
+                    ? articleArchiveService.archiveChunk(ARCHIVE_CUTOFF, 10)
+                    : articleService.updateArticle(Article.builder().title(article.getTitle())
+                    .content(updatedContent).userId(1).build(), article.getId()));
+
+            assertTrue(outcomes.get(0).succeeded(), "archiving failed: " + outcomes.get(0).error());
+            Outcome<Object> update = outcomes.get(1);
+            assertTrue(update.succeeded() || update.error() instanceof ArchivedArticleException,
+                    "an update after the move should see an archived article, got " + update.error());
+            Optional<Article> hot = articleRepositoryTest.findById(article.getId());
+            Optional<Article> cold = archivedArticleRepository.findById(article.getId()).map(ArchivedArticle::toArticle);
+            assertTrue(hot.isPresent() != cold.isPresent(), "the article must be in exactly one tier");
+            // a successful update must survive the move, a refused one must not appear
+            assertEquals(update.succeeded() ? updatedContent : "content", hot.or(() -> cold).orElseThrow().getContent());
+        }
+    }
+
+    @Test
+    void concurrentCreatesWithSameTitleStoreOneArticle() throws InterruptedException {
+        for (int round = 0; round < ROUNDS; round++) {
+            String title = "Concurrent Create " + round;
+
+            List<Outcome<Article>> outcomes = ConcurrencyHarness.race(THREADS, thread -> () -> articleService.addArticle(
+                    Article.builder().title(title).content("content by thread " + thread).userId(thread).build()));
+            List<Article> created = outcomes.stream().map(Outcome::value).filter(Objects::nonNull).toList();
+            created.forEach(article -> createdIds.add(article.getId()));
+
+            assertEquals(1, created.size(), "exactly one create should succeed for a title");
+            assertEquals(1, articleRepositoryTest.findAll().stream().filter(article -> title.equals(article.getTitle())).count());
+        }
+    }
+
+    // wall-clock bound, so only run on request: mvn test -Dbenchmark=true
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void createThroughputDoesNotCollapseUnderContention() throws InterruptedException {
+        int opsPerThread = 50;
+        Map<Integer, Double> throughputByThreads = new LinkedHashMap<>();
+        ConcurrencyHarness.throughput(2, opsPerThread, op -> createUnique("Warmup", op));
+        for (int threads : new int[]{1, 2, 4, 8}) {
+            throughputByThreads.put(threads, ConcurrencyHarness.throughput(threads, opsPerThread,
+                    op -> createUnique("Throughput " + threads, op)));
+        }
+        log.info("Article creates per second by thread count: {}", throughputByThreads);
+
+        // a loose bound: more threads may not help on a small machine, but must not serialise into a crawl
+        assertTrue(throughputByThreads.get(8) > throughputByThreads.get(1) * 0.5,
+                "throughput collapsed under contention: " + throughputByThreads);
+    }
+
+    private Article create(String title) {
+        Article article = articleService.addArticle(Article.builder().title(title).content("content").userId(1).build());
+        createdIds.add(article.getId());
+        return article;
+    }
+
+    private void createUnique(String prefix, int op) {
+        Article article = articleService.addArticle(
+                Article.builder().title(prefix + " " + op).content("content").userId(1).build());
+        if (article == null) {
+            throw new IllegalStateException("Create failed for " + prefix + " " + op);
+        }
+        createdIds.add(article.getId());
+    }
+
+}
@@ -1,5 +1,6 @@
 package com.dw.article_world.service;
 
+import com.dw.article_world.exception.ArchivedArticleException;
 import com.dw.article_world.exception.InvalidArticleException;
 import com.dw.article_world.model.Article;
 import com.dw.article_world.repo.ArticleRepository;
@@ -8,6 +9,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -21,9 +26,23 @@ class ArticleServiceTest {
     @Mock
     private ArticleRepository articleRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ArticleArchiveService articleArchiveService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private ArticleService articleService;
 
+    private void runInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
     @Test
     void addArticleSuccess() {
         Article article = Article.builder()
@@ -32,13 +51,16 @@ class ArticleServiceTest {
                 .content("content")
                 .build();
 
-        when(articleRepository.save(article)).thenReturn(article);
+        runInline();
+        when(articleRepository.saveAndFlush(article)).thenReturn(article);
 
         Article result = articleService.addArticle(article);
 
         assertNotNull(result);
         assertEquals(article.getTitle(), result.getTitle());
-        verify(articleRepository, times(1)).save(article);
+        verify(articleRepository, times(1)).saveAndFlush(article);
+        verify(articleArchiveService, times(1)).findTitles(List.of("title"));
+        verify(eventPublisher, times(1)).publishEvent(ArticleChangedEvent.created(article));
     }
 
 
@@ -50,17 +72,49 @@ class ArticleServiceTest {
                 .content("content")
                 .build();
 
-        when(articleRepository.save(article)).thenThrow(new RuntimeException("Database error"));
+        runInline();
+        when(articleRepository.saveAndFlush(article)).thenThrow(new RuntimeException("Database error"));
 
         Article result = articleService.addArticle(article);
 
         assertNull(result);
-        verify(articleRepository, times(1)).save(article);
+        verify(articleRepository, times(1)).saveAndFlush(article);
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
         // Optionally verify logging
         // verify(log, times(1)).error("Exception occurred while adding article: Database error", any(RuntimeException.class));
     }
 
 
+    @Test
+    void addArticleWithArchivedTitleFails() {
+        Article article = Article.builder()
+                .title("archived title")
+                .userId(1)
+                .content("content")
+                .build();
+
+        runInline();
+        when(articleRepository.saveAndFlush(article)).thenReturn(article);
+        when(articleArchiveService.findTitles(List.of("archived title"))).thenReturn(List.of("archived title"));
+
+        assertNull(articleService.addArticle(article));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void updateArticleToArchivedTitleFails() {
+        Integer articleId = 1;
+        Article existingArticle = Article.builder().id(articleId).title("title").userId(1).content("content").build();
+        Article updatedArticle = Article.builder().title("archived title").userId(1).content("content").build();
+
+        when(articleRepository.findByIdForUpdate(articleId)).thenReturn(Optional.of(existingArticle));
+        when(articleRepository.save(existingArticle)).thenReturn(existingArticle);
+        when(articleArchiveService.findTitles(List.of("archived title"))).thenReturn(List.of("archived title"));
+
+        assertThrows(DataIntegrityViolationException.class, () -> articleService.updateArticle(updatedArticle, articleId));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
     @Test
     void getAllArticles() {
         Article article1 = Article.builder()
@@ -101,6 +155,63 @@ class ArticleServiceTest {
         verify(articleRepository, times(1)).findAll();
     }
 
+    @Test
+    void getArticlesPostedBetween() {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 2, 1, 0, 0);
+        Article article = Article.builder()
+                .title("title1")
+                .userId(1)
+                .content("content1")
+                .postedDate(LocalDateTime.of(2024, 1, 15, 10, 0))
+                .build();
+
+        when(articleRepository.findPostedBetween(from, to)).thenReturn(List.of(article));
+
+        List<Article> articlesFromService = articleService.getArticles(from, to);
+
+        assertEquals(List.of(article), articlesFromService);
+        verify(articleRepository, times(1)).findPostedBetween(from, to);
+        verify(articleRepository, never()).findAll();
+    }
+
+    @Test
+    void getArticlesPostedSince() {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+        when(articleRepository.findPostedSince(from)).thenReturn(List.of());
+
+        List<Article> articlesFromService = articleService.getArticles(from, null);
+
+        assertTrue(articlesFromService.isEmpty());
+        verify(articleRepository, times(1)).findPostedSince(from);
+        verify(articleRepository, never()).findAll();
+    }
+
+    @Test
+    void getAllArticlesIncludingArchivedMergesNewestFirst() {
+        Article hot1 = Article.builder().id(4).title("hot1").postedDate(LocalDateTime.of(2024, 4, 1, 0, 0)).build();
+        Article hot2 = Article.builder().id(2).title("hot2").postedDate(LocalDateTime.of(2024, 2, 1, 0, 0)).build();
+        Article cold1 = Article.builder().id(3).title("cold1").postedDate(LocalDateTime.of(2024, 3, 1, 0, 0)).build();
+        Article cold2 = Article.builder().id(1).title("cold2").postedDate(LocalDateTime.of(2024, 1, 1, 0, 0)).build();
+
+        when(articleRepository.findAll()).thenReturn(List.of(hot2, hot1));
+        when(articleArchiveService.findAll()).thenReturn(List.of(cold1, cold2));
+
+        List<Article> articlesFromService = articleService.getArticles(true);
+
+        assertEquals(List.of(hot1, cold1, hot2, cold2), articlesFromService);
+    }
+
+    @Test
+    void getAllArticlesWithoutArchivedDoesNotReadArchive() {
+        when(articleRepository.findAll()).thenReturn(List.of());
+
+        articleService.getArticles();
+
+        verifyNoInteractions(articleArchiveService);
+    }
+
     @Test
     void updateArticleSuccess() {
         Integer articleId = 1;
@@ -118,7 +229,7 @@ class ArticleServiceTest {
                 .content("New Content")
                 .build();
 
-        when(articleRepository.findById(articleId)).thenReturn(Optional.of(existingArticle));
+        when(articleRepository.findByIdForUpdate(articleId)).thenReturn(Optional.of(existingArticle));
         when(articleRepository.save(any(Article.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         Article result = articleService.updateArticle(updatedArticle, articleId);
@@ -127,8 +238,9 @@ class ArticleServiceTest {
         assertEquals("New Content", result.getContent());
         assertEquals(2, result.getUserId());
 
-        verify(articleRepository, times(1)).findById(articleId);
+        verify(articleRepository, times(1)).findByIdForUpdate(articleId);
         verify(articleRepository, times(1)).save(existingArticle);
+        verify(eventPublisher, times(1)).publishEvent(ArticleChangedEvent.updated(existingArticle));
     }
 
     @Test
@@ -141,27 +253,40 @@ class ArticleServiceTest {
                 .content("New Content")
                 .build();
 
-        when(articleRepository.findById(articleId)).thenReturn(Optional.empty());
+        when(articleRepository.findByIdForUpdate(articleId)).thenReturn(Optional.empty());
 
         assertThrows(InvalidArticleException.class, () -> {
             articleService.updateArticle(updatedArticle, articleId);
         });
 
-        verify(articleRepository, times(1)).findById(articleId);
+        verify(articleRepository, times(1)).findByIdForUpdate(articleId);
         verify(articleRepository, never()).save(any(Article.class)); // Save should not be called
     }
 
+    @Test
+    void updateArchivedArticleIsAConflict() {
+        Integer articleId = 1;
+        Article archived = Article.builder().id(articleId).title("title").userId(1).content("content").build();
+
+        when(articleRepository.findByIdForUpdate(articleId)).thenReturn(Optional.empty());
+        when(articleArchiveService.find(articleId)).thenReturn(Optional.of(archived));
+
+        assertThrows(ArchivedArticleException.class, () -> articleService.updateArticle(archived, articleId));
+        verify(articleRepository, never()).save(any(Article.class));
+    }
+
     @Test
     void deleteArticleSuccess() {
         Integer articleId = 1;
 
-        when(articleRepository.existsById(articleId)).thenReturn(true);
+        when(articleRepository.deleteArticleById(articleId)).thenReturn(1);
 
         boolean result = articleService.deleteArticle(articleId);
 
         assertTrue(result);
-        verify(articleRepository, times(1)).existsById(articleId);
-        verify(articleRepository, times(1)).deleteById(articleId);
+        verify(articleRepository, times(1)).deleteArticleById(articleId);
+        verify(articleArchiveService, never()).delete(articleId);
+        verify(eventPublisher, times(1)).publishEvent(ArticleChangedEvent.deleted(articleId));
     }
 
 
@@ -169,12 +294,25 @@ class ArticleServiceTest {
     void deleteArticleNotFound() {
         Integer articleId = 1;
 
-        when(articleRepository.existsById(articleId)).thenReturn(false);
+        when(articleRepository.deleteArticleById(articleId)).thenReturn(0);
+        when(articleArchiveService.delete(articleId)).thenReturn(false);
         boolean result = articleService.deleteArticle(articleId);
 
         assertFalse(result);
-        verify(articleRepository, times(1)).existsById(articleId);
-        verify(articleRepository, never()).deleteById(articleId);
+        verify(articleRepository, times(1)).deleteArticleById(articleId);
+        verify(articleArchiveService, times(1)).delete(articleId);
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void deleteArchivedArticle() {
+        Integer articleId = 1;
+
+        when(articleRepository.deleteArticleById(articleId)).thenReturn(0);
+        when(articleArchiveService.delete(articleId)).thenReturn(true);
+
+        assertTrue(articleService.deleteArticle(articleId));
+        verify(eventPublisher, times(1)).publishEvent(ArticleChangedEvent.deleted(articleId));
     }
 
     @Test
@@ -199,6 +337,22 @@ class ArticleServiceTest {
         verify(articleRepository, times(1)).findById(articleId);
     }
 
+    @Test
+    void getArticleFallsBackToArchive() {
+        Integer articleId = 1;
+        Article archived = Article.builder()
+                .id(articleId)
+                .title("title")
+                .userId(1)
+                .content("content")
+                .build();
+
+        when(articleRepository.findById(articleId)).thenReturn(Optional.empty());
+        when(articleArchiveService.find(articleId)).thenReturn(Optional.of(archived));
+
+        assertEquals(archived, articleService.getArticle(articleId));
+    }
+
     @Test
     void getArticleNotFound() {
         Integer articleId = 1;
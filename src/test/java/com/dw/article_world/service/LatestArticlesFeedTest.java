@@ -0,0 +1,191 @@
+package com.dw.article_world.service;
+
+import com.dw.article_world.model.Article;
+import com.dw.article_world.repo.ArticleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LatestArticlesFeedTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 1, 10, 0);
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    @InjectMocks
+    private LatestArticlesFeed latestArticlesFeed;
+
+    @BeforeEach
+    void setup() {
+        latestArticlesFeed.capacity = 3;
+    }
+
+    @Test
+    void loadTakesNewestFromRepository() {
+        when(articleRepository.findLatest(any(Pageable.class))).thenReturn(List.of(article(3, 3), article(2, 2)));
+
+        latestArticlesFeed.load();
+
+        assertEquals(List.of(3, 2), ids(latestArticlesFeed.latest(10)));
+        assertEquals(List.of(3), ids(latestArticlesFeed.latest(1)));
+    }
+
+    @Test
+    void createdArticlesAreInsertedInOrderAndTrimmedToCapacity() {
+        when(articleRepository.findLatest(any(Pageable.class))).thenReturn(List.of(article(3, 30), article(1, 10)));
+        latestArticlesFeed.load();
+
+        latestArticlesFeed.onArticleChanged(ArticleChangedEvent.created(article(2, 20)));
+        assertEquals(List.of(3, 2, 1), ids(latestArticlesFeed.latest(10)));
+
+        latestArticlesFeed.onArticleChanged(ArticleChangedEvent.created(article(4, 40)));
+        assertEquals(List.of(4, 3, 2), ids(latestArticlesFeed.latest(10)));
+    }
+
+    @Test
+    void sameTimestampIsOrderedByIdDescending() {
+        when(articleRepository.findLatest(any(Pageable.class))).thenReturn(List.of());
+        latestArticlesFeed.load();
+
+        latestArticlesFeed.onArticleChanged(ArticleChangedEvent.created(article(1, 10)));
+        latestArticlesFeed.onArticleChanged(ArticleChangedEvent.created(article(2, 10)));
+
+        assertEquals(List.of(2, 1), ids(latestArticlesFeed.latest(10)));
+    }
+
+    @Test
+    void updatedArticleIsReplaced() {
+        when(articleRepository.findLatest(any(Pageable.class))).thenReturn(List.of(article(2, 20), article(1, 10)));
+        latestArticlesFeed.load();
+
+        Article updated = article(1, 10);
+        updated.setTitle("updated");
+        latestArticlesFeed.onArticleChanged(ArticleChangedEvent.updated(updated));
+
+        List<Article> latest = latestArticlesFeed.latest(10);
+        assertEquals(List.of(2, 1), ids(latest));
+        assertEquals("updated", latest.get(1).getTitle());
+    }
+
+    @Test
+    void staleUpdateDoesNotOverwriteNewerOne() {
+        when(articleRepository.findLatest(any(Pageable.class))).thenReturn(List.of(article(1, 10)));
+        latestArticlesFeed.load();
+
+        Article first = article(1, 10);
+        first.setTitle("first");
+        first.setUpdatedDate(NOW.plusMinutes(20));
+        Article second = article(1, 10);
+        second.setTitle("second");
+        second.setUpdatedDate(NOW.plusMinutes(21));
+        latestArticlesFeed.onArticleChanged(ArticleChangedEvent.updated(second));
+        latestArticlesFeed.onArticleChanged(ArticleChangedEvent.updated(first));
+
+        assertEquals("second", latestArticlesFeed.latest(10).get(0).getTitle());
+    }
+
+    @Test
+    void updateArrivingAfterDeleteDoesNotResurrectArticle() {
+        when(articleRepository.findLatest(any(Pageable.class))).thenReturn(List.of(article(2, 20), article(1, 10)));
+        latestArticlesFeed.load();
+
+        Article updated = article(1, 10);
+        updated.setUpdatedDate(NOW.plusMinutes(30));
+        latestArticlesFeed.onArticleChanged(ArticleChangedEvent.deleted(1));
+        latestArticlesFeed.onArticleChanged(ArticleChangedEvent.updated(updated));
+
+        assertEquals(List.of(2), ids(latestArticlesFeed.latest(10)));
+    }
+
+    @Test
+    void deleteFromCompleteFeedDoesNotReload() {
+        when(articleRepository.findLatest(any(Pageable.class))).thenReturn(List.of(article(2, 20), article(1, 10)));
+        latestArticlesFeed.load();
+
+        latestArticlesFeed.onArticleChanged(ArticleChangedEvent.deleted(2));
+
+        assertEquals(List.of(1), ids(latestArticlesFeed.latest(10)));
+        verify(articleRepository, times(1)).findLatest(any(Pageable.class));
+    }
+
+    @Test
+    void deleteFromFullFeedRefillsFromRepository() {
+        when(articleRepository.findLatest(any(Pageable.class)))
+                .thenReturn(List.of(article(4, 40), article(3, 30), article(2, 20)))
+                .thenReturn(List.of(article(3, 30), article(2, 20), article(1, 10)));
+        latestArticlesFeed.load();
+
+        latestArticlesFeed.onArticleChanged(ArticleChangedEvent.deleted(4));
+
+        assertEquals(List.of(3, 2, 1), ids(latestArticlesFeed.latest(10)));
+        verify(articleRepository, times(2)).findLatest(any(Pageable.class));
+    }
+
+    @Test
+    void invalidationReloadsFromRepository() {
+        when(articleRepository.findLatest(any(Pageable.class)))
+                .thenReturn(List.of(article(3, 30), article(2, 20)))
+                .thenReturn(List.of(article(3, 30)));
+        latestArticlesFeed.load();
+
+        latestArticlesFeed.onArticlesInvalidated(new ArticlesInvalidatedEvent("detached partitions"));
+
+        assertEquals(List.of(3), ids(latestArticlesFeed.latest(10)));
+        verify(articleRepository, times(2)).findLatest(any(Pageable.class));
+    }
+
+    @Test
+    void bulkChangeReloadsOnlyWhenItTouchesTheFeed() {
+        when(articleRepository.findLatest(any(Pageable.class)))
+                .thenReturn(List.of(article(3, 30), article(2, 20)))
+                .thenReturn(List.of(article(3, 30)));
+        latestArticlesFeed.load();
+
+        latestArticlesFeed.onArticlesBulkChanged(new ArticlesBulkChangedEvent(List.of(7, 8)));
+        verify(articleRepository, times(1)).findLatest(any(Pageable.class));
+
+        latestArticlesFeed.onArticlesBulkChanged(new ArticlesBulkChangedEvent(List.of(1, 2)));
+        assertEquals(List.of(3), ids(latestArticlesFeed.latest(10)));
+        verify(articleRepository, times(2)).findLatest(any(Pageable.class));
+    }
+
+    @Test
+    void readersAreNotAffectedByLaterChanges() {
+        when(articleRepository.findLatest(any(Pageable.class))).thenReturn(List.of(article(1, 10)));
+        latestArticlesFeed.load();
+
+        List<Article> before = latestArticlesFeed.latest(10);
+        latestArticlesFeed.onArticleChanged(ArticleChangedEvent.created(article(2, 20)));
+
+        assertEquals(List.of(1), ids(before));
+        assertThrows(UnsupportedOperationException.class, () -> before.set(0, article(5, 50)));
+    }
+
+    private static Article article(int id, int minutesAfterNow) {
+        return Article.builder()
+                .id(id)
+                .title("title " + id)
+                .content("content " + id)
+                .userId(1)
+                .postedDate(NOW.plusMinutes(minutesAfterNow))
+                .build();
+    }
+
+    private static List<Integer> ids(List<Article> articles) {
+        return articles.stream().map(Article::getId).toList();
+    }
+
+}